@@ -0,0 +1,107 @@
+/*
+ * Insert throughput of the bulk endpoint (POST /api/blogs/bulk, NDJSON) against one POST /api/blogs per blog.
+ * No dependencies; run it with the JDK directly against a running app:
+ *
+ *   java scripts/BulkInsertCompare.java http://localhost:8000 3000 8 50000
+ *                                       base URL              single clients bulk
+ *
+ * First a short warmup of both paths, then `single` blogs are created one request each by `clients` concurrent
+ * clients, then `bulk` blogs in a single NDJSON upload. The report shows blogs per second for both and the ratio.
+ * All clients share one address, so start the app with --app.rate-limit.enabled=false (otherwise most requests get 429).
+ *
+ * Measured (JDK 21, one CPU, prod profile, H2 in MySQL mode instead of MySQL via --spring.datasource.*,
+ * chunk-size 500, 3000 single / 50000 bulk):
+ *
+ *   clients   single POST     bulk NDJSON     ratio
+ *   1         149 blogs/s     11954 blogs/s   80x
+ *   8         369 blogs/s     21723 blogs/s   59x
+ *
+ * Well past the 10x target. H2 in memory has no network round trip per statement, which is what batching
+ * saves most of against MySQL, so the ratio there should be higher, not lower.
+ */
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class BulkInsertCompare {
+
+    private static final String BLOG = "{\"title\":\"Title %d\",\"content\":\"Content of blog number %d, long enough to look real.\"}";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            System.err.println("usage: java scripts/BulkInsertCompare.java <baseUrl> <single> <clients> <bulk>");
+            System.exit(1);
+        }
+        URI single = URI.create(args[0] + "/api/blogs");
+        URI bulk = URI.create(args[0] + "/api/blogs/bulk");
+        int singles = Integer.parseInt(args[1]);
+        int clients = Integer.parseInt(args[2]);
+        int bulkSize = Integer.parseInt(args[3]);
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (int i = 0; i < 300; i++) {
+            post(http, single, "application/json", String.format(BLOG, i, i));
+        }
+        for (int i = 0; i < 3; i++) {
+            post(http, bulk, "application/x-ndjson", ndjson(2000));
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        LongAdder failed = new LongAdder();
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newFixedThreadPool(clients)) {
+            for (int c = 0; c < clients; c++) {
+                pool.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < singles; i = next.getAndIncrement()) {
+                        try {
+                            if (post(http, single, "application/json", String.format(BLOG, i, i)).statusCode() != 201) {
+                                failed.increment();
+                            }
+                        } catch (Exception e) {
+                            failed.increment();
+                        }
+                    }
+                });
+            }
+        }
+        double singleRate = singles / seconds(start);
+
+        String body = ndjson(bulkSize);
+        start = System.nanoTime();
+        HttpResponse<String> response = post(http, bulk, "application/x-ndjson", body);
+        double bulkRate = bulkSize / seconds(start);
+        int created = response.body().split("\"CREATED\"", -1).length - 1;
+
+        System.out.printf("single POST, %d clients: %8.0f blogs/s  (%d of %d failed)%n", clients, singleRate, failed.sum(), singles);
+        System.out.printf("bulk NDJSON:            %8.0f blogs/s  (HTTP %d, %d of %d created)%n",
+                bulkRate, response.statusCode(), created, bulkSize);
+        System.out.printf("ratio:                  %8.1fx%n", bulkRate / singleRate);
+    }
+
+    private static String ndjson(int blogs) {
+        StringBuilder body = new StringBuilder(blogs * 100);
+        for (int i = 0; i < blogs; i++) {
+            body.append(String.format(BLOG, i, i)).append('\n');
+        }
+        return body.toString();
+    }
+
+    private static HttpResponse<String> post(HttpClient http, URI uri, String type, String body) throws Exception {
+        return http.send(HttpRequest.newBuilder(uri).header("Content-Type", type)
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double seconds(long since) {
+        return (System.nanoTime() - since) / 1e9;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Small closed-loop load generator for comparing the default (platform thread) mode with the
+ * virtual-thread mode (--spring.profiles.active=virtual). No dependencies; run it with the JDK directly:
+ *
+ *   java scripts/LoadCompare.java http://localhost:8000 400 30 /api/blogs?view=summary /api/blogs/1
+ *                                  base URL            clients seconds  paths (round-robin)
+ *
+ * Start the app in one mode, run this, restart in the other mode and run it again with the same arguments.
+ * Each client sends one request at a time, so clients ≈ concurrent requests. The report shows throughput,
+ * latency percentiles of successful requests and how many requests were shed with 503.
+ * All clients share one address, so start the app with --app.rate-limit.enabled=false (otherwise most requests get 429).
+ *
+ * Measured (JDK 21, one CPU shared with this generator, H2 in MySQL mode, pool of 10, 50 blogs and 200 comments;
+ * 400 clients for 15 s on /api/blogs?view=summary and /api/blogs/1/comments):
+ *
+ *   platform threads, no gate (default)    120 req/s  p99 11.2-12.3 s  no 503
+ *   platform threads + admission gate      124 req/s  p99  6.8 s       78% shed with 503 (417 of 1865 served)
+ *   virtual threads + gate (default)        97 req/s  p99 10.7 s       no 503
+ *   virtual threads, no gate               104 req/s  p99 10.0 s       no 503
+ *
+ * With platform threads, Tomcat's 200 workers already bound the callers waiting for a connection, and the gate
+ * only turns requests the pool would have served into 503s; hence it is on by default in virtual-thread mode
+ * only. On one CPU with H2 in memory the CPU, not the pool, is the bottleneck, so the gate neither helps nor
+ * hurts virtual threads here; it is there for a database slower than the request rate, where unbounded virtual
+ * threads would otherwise all queue inside Hikari until its connection timeout.
+ */
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadCompare {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: java scripts/LoadCompare.java <baseUrl> <clients> <seconds> <path> [path...]");
+            System.exit(1);
+        }
+        String baseUrl = args[0];
+        int clients = Integer.parseInt(args[1]);
+        long seconds = Long.parseLong(args[2]);
+        List<URI> uris = new ArrayList<>();
+        for (String path : Arrays.copyOfRange(args, 3, args.length)) {
+            uris.add(URI.create(baseUrl + path));
+        }
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        List<long[]> latencies = new ArrayList<>();  // per client, micros of 2xx/3xx responses
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long[] samples = new long[1 << 16];
+                latencies.add(samples);
+                int offset = c;
+                pool.submit(() -> {
+                    int n = 0;
+                    for (int i = offset; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size()))
+                                .timeout(Duration.ofSeconds(30)).GET().build();
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;  // connect/read timeout or refused
+                        }
+                        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                        if (status >= 200 && status < 400 && n < samples.length) {
+                            samples[n++] = (System.nanoTime() - start) / 1_000;
+                        }
+                    }
+                    samples[samples.length - 1] = n;  // last slot holds the sample count
+                    return null;
+                });
+            }
+        }
+
+        long[] all = latencies.stream()
+                .flatMapToLong(s -> Arrays.stream(s, 0, (int) Math.min(s[s.length - 1], s.length - 1)))
+                .sorted().toArray();
+        long total = statuses.values().stream().mapToLong(LongAdder::sum).sum();
+        Map<Integer, Long> byStatus = new TreeMap<>();
+        statuses.forEach((s, count) -> byStatus.put(s, count.sum()));
+
+        System.out.printf("clients=%d duration=%ds requests=%d throughput=%.0f req/s%n",
+                clients, seconds, total, total / (double) seconds);
+        System.out.printf("ok latency ms: p50=%.1f p95=%.1f p99=%.1f max=%.1f%n",
+                pct(all, 50), pct(all, 95), pct(all, 99), all.length == 0 ? 0 : all[all.length - 1] / 1000.0);
+        System.out.println("status counts (-1 = transport error): " + byStatus);
+    }
+
+    private static double pct(long[] sorted, int p) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, sorted.length * p / 100)] / 1000.0;
+    }
+}
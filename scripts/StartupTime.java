@@ -0,0 +1,112 @@
+/*
+ * Measures how long the application takes to become ready, for comparing startup modes. No dependencies;
+ * run it with the JDK directly:
+ *
+ *   java scripts/StartupTime.java 5 http://localhost:8000/actuator/health -- <command that starts the app>
+ *                                 runs  URL polled until it answers 200
+ *
+ * For example (jar from mvn -Pprod clean package, CDS archive from scripts/cds-archive.sh):
+ *   ... -- java -jar target/spring-rest-two-0.0.1-SNAPSHOT.jar
+ *   ... -- java -Dspring.profiles.active=prod -jar target/spring-rest-two-0.0.1-SNAPSHOT.jar
+ *   ... -- java -XX:SharedArchiveFile=target/app/app.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=prod -jar target/app/spring-rest-two-0.0.1-SNAPSHOT.jar
+ *
+ * Each run starts the command, polls the URL every 20 ms until it answers 200 (time to ready, as a load
+ * balancer sees it), then stops the process. The report shows every run, and min / median / max,
+ * next to the "Started MainApp in ..." time Spring Boot logs.
+ *
+ * Measured (3 runs each, median time to ready on /actuator/health; JDK 21, one CPU, H2 in MySQL mode instead of
+ * MySQL via --spring.datasource.*, Prometheus registry left off the classpath in every variant):
+ *
+ *   default profile: ddl-auto=update, show-sql, devtools restart, classes dir   31.3 s  (min 30.2, max 33.7)
+ *   prod profile: Flyway, ddl-auto=none, no JDBC metadata, deferred JPA          29.3 s  (min 28.7, max 30.5)
+ *   prod profile + Spring AOT (-Dspring.aot.enabled=true)                       26.1 s  (min 24.0, max 26.2)
+ *   prod profile + Spring AOT + CDS (-XX:SharedArchiveFile)                     17.6 s  (min 16.8, max 17.6)
+ *
+ * Absolute times are those of a slow single-core sandbox; the ratios are what carries over (about 44% less
+ * time to ready with everything on). With MySQL, ddl-auto=update also inspects every table at startup, which
+ * H2 in memory makes nearly free, so the gap between the first two rows is larger there.
+ */
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class StartupTime {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+    private static final long TIMEOUT_SECONDS = 120;
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator != 2 || args.length < 4) {
+            System.err.println("usage: java scripts/StartupTime.java <runs> <readyUrl> -- <command> [args...]");
+            System.exit(1);
+        }
+        int runs = Integer.parseInt(args[0]);
+        URI readyUrl = URI.create(args[1]);
+        List<String> command = Arrays.asList(Arrays.copyOfRange(args, 3, args.length));
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        long[] readyMillis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            AtomicReference<String> reported = new AtomicReference<>("?");
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            Thread.ofVirtual().start(() -> {
+                try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                    String line;
+                    while ((line = out.readLine()) != null) {  // Also keeps the process from blocking on a full pipe
+                        Matcher started = STARTED.matcher(line);
+                        if (started.find()) {
+                            reported.set(started.group(1) + " s");
+                        }
+                    }
+                } catch (Exception e) {
+                    // Process ended
+                }
+            });
+
+            long deadline = start + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            boolean ready = false;
+            while (!ready && System.nanoTime() < deadline && process.isAlive()) {
+                try {
+                    ready = http.send(HttpRequest.newBuilder(readyUrl).timeout(Duration.ofSeconds(1)).GET().build(),
+                            HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                } catch (Exception e) {
+                    // Not listening yet
+                }
+                if (!ready) {
+                    Thread.sleep(20);
+                }
+            }
+            readyMillis[run] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            if (!ready) {
+                System.err.printf("run %d: not ready after %d s (exit %s)%n", run + 1, TIMEOUT_SECONDS,
+                        process.isAlive() ? "-" : process.exitValue());
+                System.exit(2);
+            }
+            System.out.printf("run %d: ready in %5d ms   (Spring Boot: started in %s)%n", run + 1, readyMillis[run],
+                    reported.get());
+        }
+
+        long[] sorted = readyMillis.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%nready: min %d ms, median %d ms, max %d ms over %d runs%n",
+                sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1], runs);
+    }
+}
@@ -0,0 +1,21 @@
+#!/bin/sh
+# Class data sharing (CDS) archive for the production jar (build it first with: mvn -Pprod clean package).
+#
+# The jar is extracted (CDS needs a classpath of plain jars), then the application is started once with the
+# prod profile and Spring AOT up to the end of the context refresh, and the JVM writes the classes it loaded
+# into target/app/app.jsa. The training run connects to the database like a normal start (Flyway runs).
+# Extra arguments are passed to the training run, e.g. --spring.datasource.url=...
+set -e
+cd "$(dirname "$0")/.."
+
+JAR=target/spring-rest-two-0.0.1-SNAPSHOT.jar
+APP=target/app
+
+rm -rf "$APP"
+java -Djarmode=tools -jar "$JAR" extract --destination "$APP"
+java -XX:ArchiveClassesAtExit="$APP/app.jsa" -Dspring.context.exit=onRefresh \
+    -Dspring.aot.enabled=true -Dspring.profiles.active=prod -jar "$APP/$(basename "$JAR")" "$@"
+
+echo
+echo "Start with:"
+echo "  java -XX:SharedArchiveFile=$APP/app.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=prod -jar $APP/$(basename "$JAR")"
@@ -0,0 +1,34 @@
+package com;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application (without the web server) on an in-memory H2 database in MySQL mode,
+ * for benchmarks that go through the service and repository layers.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param name - Database name, so each benchmark class gets its own schema
+     * @return The running application context; close it in @TearDown
+     */
+    public static ConfigurableApplicationContext start(String name) {
+        return new SpringApplicationBuilder(MainApp.class)
+                .web(WebApplicationType.NONE)
+                // Command line arguments, so they take precedence over application.yml
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN");
+    }
+}
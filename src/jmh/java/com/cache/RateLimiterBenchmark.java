@@ -0,0 +1,84 @@
+package com.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost RateLimitInterceptor adds to every API request (the interceptor itself only adds a header read, a request
+ * attribute lookup and a string concatenation).
+ * - allowed: one client under its budget (bucket lookup + one CAS).
+ * - rejected: one client far over its budget.
+ * - manyClients: requests spread over 100k clients, so bucket lookups miss the CPU caches.
+ * - contended: 8 threads taking tokens from the same bucket (worst case for the CAS loop).
+ *
+ * Measured (JDK 21, one CPU, average of 5 × 2 s after 3 × 2 s warmup, ns/op):
+ *
+ *   allowed       321 ± 78
+ *   rejected      322 ± 25
+ *   manyClients  1538 ± 298   (bucket lookup misses the CPU caches)
+ *   contended    1041 ± 396   (8 threads time-sliced on one core, so this is mostly scheduling, not CAS retries)
+ *
+ * Well under the cost of a request that reaches the database, even on a slow single-core sandbox.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 100_000;
+
+    private RateLimiter unlimited;  // Budgets never run out, so every call takes the allowed path
+    private RateLimiter limited;    // Budget of 1 request per second
+    private String[] clients;
+
+    @Setup
+    public void setUp() {
+        unlimited = new RateLimiter(1e9, 1_000_000, 1e9, 1_000_000, Duration.ofMinutes(10), 1_000_000);
+        limited = new RateLimiter(1, 1, 1, 1, Duration.ofMinutes(10), 1_000_000);
+        clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "10." + (i >> 16) + "." + ((i >> 8) & 255) + "." + (i & 255);
+        }
+        for (String client : clients) {
+            unlimited.tryAcquire(client, "GET /api/blogs/{id}", RateLimiter.Budget.READ);
+        }
+    }
+
+    @Benchmark
+    public long allowed() {
+        return unlimited.tryAcquire("10.0.0.1", "GET /api/blogs/{id}", RateLimiter.Budget.READ);
+    }
+
+    @Benchmark
+    public long rejected() {
+        return limited.tryAcquire("10.0.0.1", "GET /api/blogs/{id}", RateLimiter.Budget.READ);
+    }
+
+    @Benchmark
+    public long manyClients() {
+        String client = clients[ThreadLocalRandom.current().nextInt(CLIENTS)];
+        return unlimited.tryAcquire(client, "GET /api/blogs/{id}", RateLimiter.Budget.READ);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long contended() {
+        return unlimited.tryAcquire("10.0.0.1", "POST /api/blogs/{id}/comments", RateLimiter.Budget.WRITE);
+    }
+}
@@ -0,0 +1,102 @@
+package com.dto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Jackson serialization of blog and comment lists, the body of most GET responses.
+ * The mapper is set up like Spring Boot's (java.time support, ISO dates) and writes to a discarding
+ * stream, so the numbers cover serialization only, not buffer copies.
+ * The format parameter compares JSON with the binary formats offered by content negotiation (CBOR, Smile);
+ * the encoded size of each list is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    private ObjectWriter writer;
+    private List<BlogDTO> blogs;
+    private List<CommentDTO> comments;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() {
+        MapperBuilder<?, ?> builder = switch (format) {
+            case "cbor" -> CBORMapper.builder();
+            case "smile" -> SmileMapper.builder();
+            default -> JsonMapper.builder();
+        };
+        ObjectMapper mapper = builder
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)  // the sink is reused across invocations
+                .build();
+        writer = mapper.writer();
+
+        Instant now = Instant.now();
+        blogs = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            BlogDTO blog = new BlogDTO();
+            blog.setId(i);
+            blog.setTitle("Blog title number " + i);
+            blog.setContent("Lorem ipsum dolor sit amet, consectetur adipiscing elit. Post " + i);
+            blog.setVersion(0L);
+            blog.setUpdatedAt(now);
+            blogs.add(blog);
+            comments.add(new CommentDTO(i, i % 100 + 1, "Comment text number " + i, now));
+        }
+
+        try {
+            System.out.printf("%n%s: blogs %,d bytes, comments %,d bytes%n", format,
+                    writer.writeValueAsBytes(blogs).length, writer.writeValueAsBytes(comments).length);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Benchmark
+    public void blogList() throws IOException {
+        writer.writeValue(sink, blogs);
+    }
+
+    @Benchmark
+    public void commentList() throws IOException {
+        writer.writeValue(sink, comments);
+    }
+}
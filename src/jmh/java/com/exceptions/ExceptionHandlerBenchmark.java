@@ -0,0 +1,98 @@
+package com.exceptions;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import com.BenchmarkContext;
+import com.controller.BlogController;
+import com.dto.BlogDTO;
+import com.service.BlogService;
+
+/**
+ * Error paths through GlobalExceptionHandler.
+ * - notFound / badRequest: create, throw and catch the exception, then build the error response.
+ * - validation: build the 400 body for a request with two invalid fields.
+ * - missingBlogLookup: BlogService.getBlogById for an ID that does not exist, against H2; after the first call the
+ *   miss is answered from MissingIds (negative cache + exception + handler, no query).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MethodArgumentNotValidException invalidBlog;
+    private ConfigurableApplicationContext context;
+    private BlogService blogService;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new GlobalExceptionHandler();
+
+        BlogDTO blog = new BlogDTO();
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(blog, "blogDTO");
+        errors.rejectValue("title", "Size", "Title must be between 3 and 100 characters");
+        errors.rejectValue("content", "NotBlank", "Content must not be blank");
+        MethodParameter parameter = new MethodParameter(BlogController.class.getMethod("createBlog", BlogDTO.class), 0);
+        invalidBlog = new MethodArgumentNotValidException(parameter, errors);
+
+        context = BenchmarkContext.start("exceptions");
+        blogService = context.getBean(BlogService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<?> notFound() {
+        try {
+            throw new ResourceNotFoundException("Blog not found with ID: " + 404);
+        } catch (ResourceNotFoundException ex) {
+            return handler.handleResourceNotFoundException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> badRequest() {
+        try {
+            throw new BadRequestException("Invalid cursor: ???");
+        } catch (BadRequestException ex) {
+            return handler.handleBadRequestException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<?> validation() {
+        return handler.handleValidationExceptions(invalidBlog);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> missingBlogLookup() {
+        try {
+            return ResponseEntity.ok(blogService.getBlogById(Long.MAX_VALUE));
+        } catch (ResourceNotFoundException ex) {
+            return handler.handleResourceNotFoundException(ex);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.search;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dto.SearchPage;
+
+/**
+ * BlogSearchIndex query latency over a synthetic corpus (1M posts by default).
+ * Words follow a Zipf distribution over a 50k word vocabulary, so there are both very common
+ * and rare terms, as in real text. Posts have a 5 word title and a 40 word body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SearchBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+    private static final String[] SYLLABLES = { "ka", "to", "mi", "re", "su", "lo", "pe", "na",
+            "di", "ga", "vo", "ru", "be", "ji", "ho", "fa" };
+
+    @Param({ "1000000" })
+    private int posts;
+
+    private BlogSearchIndex index;
+    private String commonWord;
+    private String rareWords;
+    private String prefixQuery;
+
+    @Setup
+    public void setUp() {
+        double[] cumulative = new double[VOCABULARY];
+        double sum = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            sum += 1.0 / (rank + 1);
+            cumulative[rank] = sum;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        index = new BlogSearchIndex();
+        StringBuilder title = new StringBuilder();
+        StringBuilder content = new StringBuilder();
+        for (long id = 1; id <= posts; id++) {
+            title.setLength(0);
+            content.setLength(0);
+            for (int i = 0; i < 5; i++) {
+                title.append(word(random, cumulative, sum)).append(' ');
+            }
+            for (int i = 0; i < 40; i++) {
+                content.append(word(random, cumulative, sum)).append(' ');
+            }
+            index.load(id, title.toString(), content.toString());
+        }
+        index.finishLoading();
+
+        commonWord = word(20);                  // in roughly 1 of 3 posts
+        rareWords = word(3000) + " " + word(7000);  // a few hundred posts each
+        prefixQuery = word(500) + " " + word(40).substring(0, 4);
+    }
+
+    @Benchmark
+    public SearchPage commonTerm() {
+        return index.search(commonWord, false, 0, 20);
+    }
+
+    @Benchmark
+    public SearchPage rareTerms() {
+        return index.search(rareWords, false, 0, 20);
+    }
+
+    @Benchmark
+    public SearchPage prefix() {
+        return index.search(prefixQuery, true, 0, 20);
+    }
+
+    @Benchmark
+    public SearchPage deepPage() {
+        return index.search(rareWords, false, 9, 100);
+    }
+
+    private static String word(SplittableRandom random, double[] cumulative, double sum) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+        return word(rank < 0 ? -rank - 1 : rank);
+    }
+
+    // Deterministic pseudo-word for a vocabulary rank, at least two syllables
+    private static String word(int rank) {
+        StringBuilder word = new StringBuilder();
+        int value = rank + SYLLABLES.length;
+        while (value > 0) {
+            word.append(SYLLABLES[value % SYLLABLES.length]);
+            value /= SYLLABLES.length;
+        }
+        return word.toString();
+    }
+}
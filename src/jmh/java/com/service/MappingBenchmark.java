@@ -0,0 +1,63 @@
+package com.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dto.BlogDTO;
+import com.dto.CommentDTO;
+import com.entity.BlogEntity;
+import com.entity.CommentEntity;
+
+/**
+ * Entity → DTO conversion in BlogService and CommentService.
+ * mapToDTO does not touch the injected collaborators, so the services are built with nulls.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    private BlogService blogService;
+    private CommentService commentService;
+    private BlogEntity blog;
+    private CommentEntity comment;
+
+    @Setup
+    public void setUp() {
+        blogService = new BlogService(null, null, null, null, null, null, null, null, null);
+        commentService = new CommentService(null, null, null, null, null, null, null, null, null);
+
+        blog = new BlogEntity();
+        blog.setId(42L);
+        blog.setTitle("A benchmark blog title");
+        blog.setContent("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(3));
+
+        comment = new CommentEntity();
+        comment.setId(4242L);
+        comment.setComment("Great post, thanks for sharing!");
+        comment.setBlog(blog);
+    }
+
+    @Benchmark
+    public BlogDTO blogMapToDTO() {
+        return blogService.mapToDTO(blog);
+    }
+
+    @Benchmark
+    public CommentDTO commentMapToDTO() {
+        return commentService.mapToDTO(comment);
+    }
+}
@@ -0,0 +1,190 @@
+package com.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import com.dto.CommentDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Bounded cache of whole comment threads of hot blogs, keyed by blog ID.
+ *
+ * - Only hot threads are cached: a thread is loaded once it has been read {@code admitAfter} times within one
+ *   expiry period. Colder reads return null and the caller queries just the page it needs.
+ * - Memory is capped by the total number of cached comments (Caffeine weigher), not by the number of blogs.
+ * - Threads longer than {@code maxPerBlog} are remembered as "too large" and always served from the database.
+ * - Comments are only ever appended (CommentService.postComment), so local writes update the cached list in
+ *   place instead of evicting it. Comments posted through other instances are not seen until the thread
+ *   expires, which is counted from the load (appends do not extend it), so a cached thread is never more
+ *   than {@code expireAfterLoad} behind the database. The whole thread is dropped when its blog is deleted.
+ *
+ * Cached lists are immutable and sorted by comment ID; appends replace them with a new copy.
+ */
+@Component
+public class BlogCommentsCache {
+
+    public static final String NAME = "blogComments";  // Name under which the cache is registered for statistics
+
+    // Marker stored for threads that exceed maxPerBlog, so they are not reloaded on every read
+    private static final List<CommentDTO> TOO_LARGE = Collections.unmodifiableList(new ArrayList<>());
+
+    private final Cache<Long, List<CommentDTO>> threads;
+    private final Cache<Long, AtomicInteger> reads;  // Reads of uncached threads within the current period
+    private final int maxPerBlog;
+    private final int admitAfter;
+
+    @SuppressWarnings("unchecked")
+    public BlogCommentsCache(CaffeineCacheManager cacheManager,
+            @Value("${app.cache.blog-comments.max-comments:200000}") long maxComments,
+            @Value("${app.cache.blog-comments.max-per-blog:1000}") int maxPerBlog,
+            @Value("${app.cache.blog-comments.admit-after:3}") int admitAfter,
+            @Value("${app.cache.blog-comments.expire-after-load:30s}") Duration expireAfterLoad) {
+        this.maxPerBlog = maxPerBlog;
+        this.admitAfter = admitAfter;
+        long ttl = expireAfterLoad.toNanos();
+        this.threads = Caffeine.newBuilder()
+                .maximumWeight(maxComments)
+                .weigher((Long blogId, List<CommentDTO> comments) -> comments.size() + 1)
+                .expireAfter(new Expiry<Long, List<CommentDTO>>() {
+                    @Override
+                    public long expireAfterCreate(Long blogId, List<CommentDTO> comments, long currentTime) {
+                        return ttl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long blogId, List<CommentDTO> comments, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;  // Appends keep the expiry of the load
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long blogId, List<CommentDTO> comments, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.reads = Caffeine.newBuilder()
+                .maximumSize(maxComments)
+                .expireAfterWrite(expireAfterLoad)
+                .build();
+        // Registered with Spring's cache manager so it shows up in the cache statistics endpoint
+        cacheManager.registerCustomCache(NAME, (Cache<Object, Object>) (Cache<?, ?>) threads);
+    }
+
+    /**
+     * Returns the cached thread of a blog, loading it on a miss once the thread is hot.
+     *
+     * @param blogId The ID of the blog.
+     * @param loader Loads the thread of a blog in ascending ID order, reading at most the given number of rows.
+     * @return The immutable comment list, or null if the thread is not hot yet or too large to cache.
+     */
+    public List<CommentDTO> get(Long blogId, BiFunction<Long, Integer, List<CommentDTO>> loader) {
+        List<CommentDTO> comments = threads.getIfPresent(blogId);
+        if (comments == null) {
+            if (reads.get(blogId, id -> new AtomicInteger()).incrementAndGet() < admitAfter) {
+                return null;
+            }
+            reads.invalidate(blogId);
+            comments = threads.get(blogId,
+                    id -> {
+                        // One row more than the limit tells a thread that is too large apart from one that just fits
+                        List<CommentDTO> loaded = loader.apply(id, maxPerBlog + 1);
+                        return loaded.size() > maxPerBlog ? TOO_LARGE : List.copyOf(loaded);
+                    });
+        }
+        return comments == TOO_LARGE ? null : comments;
+    }
+
+    /**
+     * Returns true if the blog's thread is cached, which also proves the blog exists.
+     */
+    public boolean contains(Long blogId) {
+        return threads.getIfPresent(blogId) != null;
+    }
+
+    /**
+     * Adds a newly saved comment to its blog's cached thread, if that thread is cached.
+     * Must be called after the comment is committed, so a concurrent load either already sees it
+     * (and the duplicate is skipped) or finishes before this update is applied.
+     *
+     * @param comment The saved comment, with its generated ID.
+     */
+    public void append(CommentDTO comment) {
+        threads.asMap().computeIfPresent(comment.getBlogId(), (blogId, comments) -> {
+            if (comments == TOO_LARGE) {
+                return comments;
+            }
+            int position = insertionPoint(comments, comment.getId());
+            if (position < 0) {
+                return comments;  // Already loaded from the database
+            }
+            if (comments.size() >= maxPerBlog) {
+                return TOO_LARGE;
+            }
+            List<CommentDTO> updated = new ArrayList<>(comments.size() + 1);
+            updated.addAll(comments.subList(0, position));
+            updated.add(comment);
+            updated.addAll(comments.subList(position, comments.size()));
+            return Collections.unmodifiableList(updated);
+        });
+    }
+
+    /**
+     * Drops the cached thread of a blog (used when the blog and its comments are deleted).
+     */
+    public void evict(Long blogId) {
+        threads.invalidate(blogId);
+    }
+
+    /**
+     * Binary search over the comment IDs of a sorted thread.
+     * Concurrent posts may commit out of ID order, so appends are not always at the end.
+     *
+     * @return The index at which {@code id} should be inserted, or -1 if it is already present.
+     */
+    private static int insertionPoint(List<CommentDTO> comments, Long id) {
+        int low = 0;
+        int high = comments.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = comments.get(mid).getId().compareTo(id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return -1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the first comment whose ID is greater than {@code afterId} (keyset pagination over a cached thread).
+     */
+    public static int firstAfter(List<CommentDTO> comments, long afterId) {
+        int low = 0;
+        int high = comments.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comments.get(mid).getId() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
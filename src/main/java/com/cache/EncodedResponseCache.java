@@ -0,0 +1,104 @@
+package com.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Bounded cache of response bodies that are already serialized (and, above the compression threshold, gzipped).
+ *
+ * - Keys contain the resource's ETag (kind, ID and revision) plus the query parameters and the format,
+ *   so an entry can never go stale: a change produces a new ETag and therefore a new key. Old entries
+ *   are never looked up again and are evicted by size or age. Nothing has to be invalidated on writes.
+ * - A hit writes the stored bytes as they are: no service call, no Jackson, no compression per request.
+ * - Memory is capped in bytes (Caffeine weigher), not by the number of responses.
+ */
+@Component
+public class EncodedResponseCache {
+
+    public static final String NAME = "encodedResponses";  // Name under which the cache is registered for statistics
+
+    /**
+     * Serializes a response body; only called on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Encoder {
+        byte[] encode() throws IOException;
+    }
+
+    /**
+     * A stored response body.
+     *
+     * @param identity The serialized bytes.
+     * @param gzip     The same bytes gzipped, or null if the body is below the compression threshold
+     *                 or does not get smaller.
+     */
+    public record Encoded(byte[] identity, byte[] gzip) {
+    }
+
+    private record Key(String resource, MediaType format) {
+    }
+
+    private final Cache<Key, Encoded> bodies;
+    private final int compressionThreshold;
+
+    @SuppressWarnings("unchecked")
+    public EncodedResponseCache(CaffeineCacheManager cacheManager,
+            @Value("${app.cache.encoded-responses.max-size:64MB}") DataSize maxSize,
+            @Value("${app.cache.encoded-responses.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${server.compression.min-response-size:2KB}") DataSize compressionThreshold) {
+        this.compressionThreshold = (int) compressionThreshold.toBytes();
+        this.bodies = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, Encoded body) -> body.identity().length + (body.gzip() != null ? body.gzip().length : 0))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        // Registered with Spring's cache manager so it shows up in the cache statistics endpoint
+        cacheManager.registerCustomCache(NAME, (Cache<Object, Object>) (Cache<?, ?>) bodies);
+    }
+
+    /**
+     * Returns the stored body of a response, serializing (and compressing) it on a miss.
+     *
+     * @param resource Identifies the response: the resource's ETag plus anything else that selects the content.
+     * @param format   The media type the encoder produces.
+     * @param encoder  Serializes the body on a miss.
+     * @return The stored body.
+     */
+    public Encoded get(String resource, MediaType format, Encoder encoder) {
+        return bodies.get(new Key(resource, format), key -> {
+            try {
+                byte[] identity = encoder.encode();
+                return new Encoded(identity, identity.length >= compressionThreshold ? gzip(identity) : null);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    // Compresses once at the highest level; the cost is paid on a miss only, every hit gets the smaller body
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(bytes);
+        }
+        return buffer.size() < bytes.length ? buffer.toByteArray() : null;
+    }
+}
@@ -0,0 +1,148 @@
+package com.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Negative cache: blog and comment IDs that were recently looked up and not found.
+ * Scrapers probing nonexistent IDs get their repeated 404s without a database query.
+ *
+ * - A lookup only records a miss if nothing of that kind was created while it ran, so an ID created
+ *   concurrently with a failed lookup is never remembered as missing.
+ * - Every create path calls {@link #created}, which forgets the ID on this instance at once.
+ *   Other instances may still answer 404 for a just-created ID until their entry expires (expire-after-write).
+ */
+@Component
+public class MissingIds {
+
+    public static final String NAME = "missingIds";  // Prefix of the names under which the caches are registered for statistics
+
+    public enum Kind {
+        BLOG, COMMENT
+    }
+
+    private final Map<Kind, Cache<Long, Boolean>> misses = new EnumMap<>(Kind.class);
+    private final Map<Kind, AtomicLong> creations = new EnumMap<>(Kind.class);  // Bumped by every create, read around lookups
+
+    @SuppressWarnings("unchecked")
+    public MissingIds(CaffeineCacheManager cacheManager,
+            @Value("${app.cache.missing-ids.max-size:100000}") long maxSize,
+            @Value("${app.cache.missing-ids.expire-after-write:5s}") Duration expireAfterWrite) {
+        for (Kind kind : Kind.values()) {
+            Cache<Long, Boolean> cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(expireAfterWrite)
+                    .recordStats()
+                    .build();
+            misses.put(kind, cache);
+            creations.put(kind, new AtomicLong());
+            // Registered with Spring's cache manager so they show up in the cache statistics endpoint
+            cacheManager.registerCustomCache(NAME + "." + kind.name().toLowerCase(), (Cache<Object, Object>) (Cache<?, ?>) cache);
+        }
+    }
+
+    /**
+     * Looks up an ID unless it is known to be missing, and remembers it when the lookup finds nothing.
+     *
+     * @param kind   What the ID identifies.
+     * @param id     The ID.
+     * @param loader The database lookup.
+     * @return The loaded value, or empty if the ID does not exist (without calling the loader if that is already known).
+     */
+    public <T> Optional<T> find(Kind kind, Long id, Function<Long, Optional<T>> loader) {
+        Cache<Long, Boolean> cache = misses.get(kind);
+        if (cache.getIfPresent(id) != null) {
+            return Optional.empty();
+        }
+        AtomicLong created = creations.get(kind);
+        long seen = created.get();
+        Optional<T> found = loader.apply(id);
+        if (found.isEmpty()) {
+            cache.put(id, Boolean.TRUE);
+            // A create that finished after `seen` may be the one the lookup missed. Re-checking after the put
+            // covers every order: either the change is seen here, or that create's invalidate comes after the put.
+            if (created.get() != seen) {
+                cache.invalidate(id);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Batch form of {@link #find}: the IDs not known to be missing are looked up with one loader call,
+     * and those it does not return are remembered as missing.
+     *
+     * @param kind   What the IDs identify.
+     * @param ids    The IDs.
+     * @param loader The database lookup of several IDs; returns what it found by ID.
+     * @return What was found, by ID (IDs that do not exist are absent).
+     */
+    public <T> Map<Long, T> findAll(Kind kind, Collection<Long> ids, Function<Collection<Long>, Map<Long, T>> loader) {
+        Cache<Long, Boolean> cache = misses.get(kind);
+        List<Long> unknown = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (cache.getIfPresent(id) == null) {
+                unknown.add(id);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return Map.of();
+        }
+        AtomicLong created = creations.get(kind);
+        long seen = created.get();
+        Map<Long, T> found = loader.apply(unknown);
+        List<Long> missed = new ArrayList<>();
+        for (Long id : unknown) {
+            if (!found.containsKey(id)) {
+                missed.add(id);
+                cache.put(id, Boolean.TRUE);
+            }
+        }
+        if (!missed.isEmpty() && created.get() != seen) {
+            cache.invalidateAll(missed);  // Same re-check as in find()
+        }
+        return found;
+    }
+
+    /**
+     * Existence check through the negative cache.
+     *
+     * @param kind   What the ID identifies.
+     * @param id     The ID.
+     * @param exists The database check (may be a write whose row count tells whether the row exists).
+     * @return True if the ID exists.
+     */
+    public boolean exists(Kind kind, Long id, Predicate<Long> exists) {
+        return find(kind, id, key -> exists.test(key) ? Optional.of(Boolean.TRUE) : Optional.empty()).isPresent();
+    }
+
+    /**
+     * Returns true if the ID was recently looked up and not found (no database access).
+     */
+    public boolean isMissing(Kind kind, Long id) {
+        return misses.get(kind).getIfPresent(id) != null;
+    }
+
+    /**
+     * Forgets a miss for a newly created ID. Must be called after the insert is committed.
+     */
+    public void created(Kind kind, Long id) {
+        creations.get(kind).incrementAndGet();  // Before the invalidate, see find()
+        misses.get(kind).invalidate(id);
+    }
+}
@@ -0,0 +1,215 @@
+package com.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.dto.BlogRank;
+import com.repository.BlogRepository;
+import com.service.CommentCountBuffer;
+
+/**
+ * Bounded in-memory top-K of the most commented blogs, so the ranking endpoint does not query on every call.
+ *
+ * - Blogs already in the top-K are updated in place when they get comments here (exact, no query).
+ * - While the top-K is not full it holds every commented blog, so comments on any other blog mean a newcomer
+ *   (whose title the ranking does not have): the ranking is then reloaded on the next read.
+ * - The whole ranking is reloaded from the comment_count index once it is older than the refresh interval,
+ *   whatever happened locally, so newcomers, freed slots and comments posted through other instances show up
+ *   within one interval. Under any write rate the ranking costs at most one small query per interval.
+ * - The reload query runs outside the lock. Comments, renames and deletes recorded while it runs are kept by
+ *   blog ID and applied to its result, including blogs that were not ranked before. The high-water mark is the
+ *   moment the reload starts, before it reads any count: what was recorded earlier is committed, so already
+ *   in the counts read. (A comment committed in that very instant may count twice until the next reload.)
+ *   Recorded blogs the result lacks are newcomers as above when it is not full, else they wait for the interval.
+ * With CommentCountBuffer enabled the stored counts trail, so a reload adds the pending deltas (read before
+ * the query) instead of rolling the in-memory counts back.
+ */
+@Component
+public class MostDiscussedBlogs {
+
+    // Most comments first; ties by lower ID, like BlogRepository.findMostDiscussed
+    private static final Comparator<BlogRank> ORDER = Comparator.comparingLong(BlogRank::commentCount).reversed()
+            .thenComparingLong(BlogRank::id);
+
+    private final BlogRepository blogRepository;
+    private final CommentCountBuffer commentCounts;
+    private final int capacity;
+    private final long refreshIntervalNanos;
+
+    private final TreeSet<BlogRank> ranking = new TreeSet<>(ORDER);
+    private final Map<Long, BlogRank> byId = new HashMap<>();
+    private boolean loaded;
+    private boolean refreshing;
+    private boolean stale;  // Reload on the next read, whatever the interval
+    private long lastRefresh;
+    private Changes duringReload;  // Recorded while a reload query runs; null otherwise
+
+    public MostDiscussedBlogs(BlogRepository blogRepository, CommentCountBuffer commentCounts,
+            @Value("${app.ranking.most-discussed.capacity:100}") int capacity,
+            @Value("${app.ranking.most-discussed.refresh-interval:5s}") Duration refreshInterval) {
+        this.blogRepository = blogRepository;
+        this.commentCounts = commentCounts;
+        this.capacity = capacity;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    // Largest number of blogs the ranking can return
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @param limit - Number of blogs wanted (at most capacity())
+     * @return The most commented blogs, most commented first
+     */
+    public List<BlogRank> top(int limit) {
+        refreshIfNeeded();
+        synchronized (this) {
+            List<BlogRank> top = new ArrayList<>(Math.min(limit, ranking.size()));
+            for (BlogRank rank : ranking) {
+                if (top.size() == limit) {
+                    break;
+                }
+                top.add(rank);
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Records committed comments on a blog.
+     * @param blogId - Blog that got the comments
+     * @param added - Number of comments added
+     */
+    public synchronized void commentsAdded(long blogId, long added) {
+        if (duringReload != null) {
+            duringReload.added.merge(blogId, added, Long::sum);
+        }
+        BlogRank current = byId.get(blogId);
+        if (current != null) {
+            replace(current, current.plusComments(added));
+        } else if (ranking.size() < capacity) {
+            stale = true;
+        }
+    }
+
+    // Keeps the title of a ranked blog current after an edit
+    public synchronized void blogRenamed(long blogId, String title) {
+        if (duringReload != null) {
+            duringReload.renamed.put(blogId, title);
+        }
+        BlogRank current = byId.get(blogId);
+        if (current != null) {
+            replace(current, current.withTitle(title));
+        }
+    }
+
+    // Drops a deleted blog; the freed slot is filled on the next reload
+    public synchronized void blogDeleted(long blogId) {
+        if (duringReload != null) {
+            duringReload.deleted.add(blogId);
+        }
+        BlogRank current = byId.remove(blogId);
+        if (current != null) {
+            ranking.remove(current);
+        }
+    }
+
+    private void replace(BlogRank current, BlogRank updated) {
+        ranking.remove(current);
+        ranking.add(updated);
+        byId.put(updated.id(), updated);
+    }
+
+    // Reloads outside the lock so writers are never blocked by the query; one reload at a time.
+    // The first load works the same way, and callers wait for it, so no caller ever sees an unloaded ranking.
+    private void refreshIfNeeded() {
+        synchronized (this) {
+            while (!loaded && refreshing) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (refreshing || (loaded && !stale && System.nanoTime() - lastRefresh < refreshIntervalNanos)) {
+                return;
+            }
+            refreshing = true;
+            duringReload = new Changes();  // High-water mark: everything recorded from here on is applied to the reload
+        }
+        List<BlogRank> fresh = null;
+        boolean flushed = false;
+        try {
+            long flushes = commentCounts.flushes();
+            Map<Long, Long> pending = commentCounts.isEnabled() ? commentCounts.pending() : Map.of();
+            fresh = withPending(blogRepository.findMostDiscussed(Limit.of(capacity)), pending);
+            flushed = commentCounts.flushes() != flushes;
+        } finally {
+            synchronized (this) {
+                refreshing = false;
+                if (fresh != null) {
+                    replaceAll(fresh, flushed);
+                }
+                duringReload = null;
+                notifyAll();  // Wakes callers waiting for the first load (one of them retries if it failed)
+            }
+        }
+    }
+
+    // Stored counts plus the increments CommentCountBuffer had not written yet
+    private static List<BlogRank> withPending(List<BlogRank> stored, Map<Long, Long> pending) {
+        if (pending.isEmpty()) {
+            return stored;
+        }
+        List<BlogRank> counted = new ArrayList<>(stored.size());
+        for (BlogRank rank : stored) {
+            long delta = pending.getOrDefault(rank.id(), 0L);
+            counted.add(delta == 0 ? rank : rank.plusComments(delta));
+        }
+        return counted;
+    }
+
+    // Installs a reload's result with the changes recorded while it ran.
+    // flushed: a count flush ran between reading the pending deltas and the query, so its increments were in
+    // both and the ranking is reloaded again on the next call
+    private void replaceAll(List<BlogRank> fresh, boolean flushed) {
+        ranking.clear();
+        byId.clear();
+        for (BlogRank rank : fresh) {
+            if (duringReload.deleted.contains(rank.id())) {
+                continue;
+            }
+            long added = duringReload.added.getOrDefault(rank.id(), 0L);
+            String title = duringReload.renamed.get(rank.id());
+            BlogRank current = added == 0 ? rank : rank.plusComments(added);
+            current = title == null ? current : current.withTitle(title);
+            ranking.add(current);
+            byId.put(current.id(), current);
+        }
+        stale = fresh.size() < capacity && !byId.keySet().containsAll(duringReload.added.keySet());
+        loaded = true;
+        if (!flushed) {
+            lastRefresh = System.nanoTime();
+        }
+    }
+
+    // What happened to blogs while a reload query ran, by blog ID
+    private static final class Changes {
+        final Map<Long, Long> added = new HashMap<>();
+        final Map<Long, String> renamed = new HashMap<>();
+        final Set<Long> deleted = new HashSet<>();
+    }
+}
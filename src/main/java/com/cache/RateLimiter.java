@@ -0,0 +1,95 @@
+package com.cache;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Token buckets per client and endpoint (used by com.controller.RateLimitInterceptor).
+ *
+ * - Each bucket is one AtomicLong updated with a single CAS (GCRA, the "theoretical arrival time" form of a token
+ *   bucket): no locks, no refill thread, and a rejected request also yields the exact wait until the next token.
+ * - Buckets live in a Caffeine map (lock-free reads, striped writes) and are dropped after idle-timeout without
+ *   requests. The timeout is never shorter than a full refill, so an idle bucket is full anyway when it is dropped.
+ *   The map is also capped at max-clients buckets: past that, the least recently used ones are dropped early,
+ *   and such a client starts with a full burst again. Keys are bounded per client (one per mapped endpoint), so
+ *   this only happens with more clients than the cap; size max-clients for the clients active within idle-timeout.
+ * - Reads and writes have separate budgets: writes cost the database more, so they get fewer tokens.
+ */
+@Component
+public class RateLimiter {
+
+    public enum Budget {
+        READ, WRITE
+    }
+
+    private record Key(String client, String endpoint) {
+    }
+
+    private final Cache<Key, AtomicLong> buckets;
+    private final long readInterval;   // Nanos per read token
+    private final long readLimit;      // Nanos of read burst
+    private final long writeInterval;
+    private final long writeLimit;
+
+    /**
+     * @param readRate - Read requests per second per client and endpoint
+     * @param readBurst - Read requests a client may send at once after being idle
+     * @param writeRate - Write requests per second per client and endpoint
+     * @param writeBurst - Write requests a client may send at once after being idle
+     * @param idleTimeout - Buckets without requests for this long are dropped
+     * @param maxClients - Most buckets kept (clients × endpoints); beyond that the least recently used are dropped
+     */
+    public RateLimiter(@Value("${app.rate-limit.read.rate:50}") double readRate,
+            @Value("${app.rate-limit.read.burst:100}") int readBurst,
+            @Value("${app.rate-limit.write.rate:5}") double writeRate,
+            @Value("${app.rate-limit.write.burst:20}") int writeBurst,
+            @Value("${app.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${app.rate-limit.max-clients:100000}") long maxClients) {
+        this.readInterval = (long) (TimeUnit.SECONDS.toNanos(1) / readRate);
+        this.readLimit = readInterval * Math.max(1, readBurst);
+        this.writeInterval = (long) (TimeUnit.SECONDS.toNanos(1) / writeRate);
+        this.writeLimit = writeInterval * Math.max(1, writeBurst);
+        long refill = Math.max(readLimit, writeLimit);  // Time for an empty bucket to fill up again
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Math.max(idleTimeout.toNanos(), refill), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * Takes a token from the client's bucket for the endpoint.
+     * @param client - Who is calling (e.g. the remote address)
+     * @param endpoint - What is called (method and mapping pattern)
+     * @param budget - Which budget the endpoint uses
+     * @return 0 if the request may proceed, otherwise the nanos until the bucket has a token again
+     */
+    public long tryAcquire(String client, String endpoint, Budget budget) {
+        long interval = budget == Budget.READ ? readInterval : writeInterval;
+        long limit = budget == Budget.READ ? readLimit : writeLimit;
+        AtomicLong arrival = buckets.get(new Key(client, endpoint), key -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + interval;  // When the bucket would be empty again after this request
+            long ahead = next - now;
+            if (ahead > limit) {
+                return ahead - limit;  // Out of tokens; nothing is taken
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Number of buckets currently held (approximate)
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,17 @@
+package com.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's caching abstraction.
+ * The cache provider (Caffeine), cache names and eviction policy are configured in application.yml
+ * under spring.cache.
+ */
+@Configuration
+@EnableCaching  // ✅ Activates @Cacheable, @CachePut and @CacheEvict on service methods
+public class CacheConfig {
+
+    public static final String BLOGS = "blogs";        // BlogDTO by blog ID
+    public static final String COMMENTS = "comments";  // CommentDTO by comment ID
+}
@@ -0,0 +1,39 @@
+package com.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Binary response formats next to JSON, picked by the Accept header:
+ * - application/cbor (RFC 8949)
+ * - application/x-jackson-smile
+ *
+ * Both encode the same DTOs with field names written once per object (Smile also back-references repeated names
+ * and short strings), so lists come out noticeably smaller than JSON and are cheaper to parse on mobile clients.
+ * The mappers are built from Spring Boot's Jackson2ObjectMapperBuilder, so they share the JSON mapper's settings
+ * (java.time support, ISO dates, spring.jackson.* properties). Request bodies in these formats are accepted as well.
+ */
+@Configuration
+public class ContentFormatsConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    // Replaces Spring MVC's default CBOR converter, which would use a mapper without Boot's settings
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    // Same for Smile
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
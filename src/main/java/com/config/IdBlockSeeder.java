@@ -0,0 +1,64 @@
+package com.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Makes sure the id_blocks table never hands out an ID that is already taken.
+ *
+ * Blogs and comments used to get AUTO_INCREMENT IDs; they are now allocated in blocks from id_blocks.
+ * Hibernate stores the last ID handed out in next_val (hibernate.id.generator.stored_last_used), so on an
+ * existing database the rows would start at 0. Before the web server accepts requests each row is raised to
+ * MAX(id) of its table. The update only ever moves next_val forward, so running it on every start
+ * (or on several instances at once) is safe.
+ * Not used when Flyway manages the schema (prod profile): migration V2 does the same once.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "false", matchIfMissing = true)
+public class IdBlockSeeder implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IdBlockSeeder.class);
+
+    // sequence_name in id_blocks → table and ID column it allocates for
+    private static final List<String[]> SEQUENCES = List.of(
+            new String[] { "blogs", "blogs", "blog_id" },
+            new String[] { "comments", "comments", "comment_id" });
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The EntityManagerFactory dependency guarantees Hibernate has created/updated the schema first
+    public IdBlockSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String[] sequence : SEQUENCES) {
+            seed(sequence[0], sequence[1], sequence[2]);
+        }
+    }
+
+    private void seed(String name, String table, String idColumn) {
+        Long lastUsed = jdbcTemplate.queryForObject(
+                "select coalesce(max(" + idColumn + "), 0) from " + table, Long.class);
+        int updated = jdbcTemplate.update(
+                "update id_blocks set next_val = ? where sequence_name = ? and next_val < ?", lastUsed, name, lastUsed);
+        Integer rows = jdbcTemplate.queryForObject(
+                "select count(*) from id_blocks where sequence_name = ?", Integer.class, name);
+        if (rows == 0) {
+            jdbcTemplate.update("insert into id_blocks (sequence_name, next_val) values (?, ?)", name, lastUsed);
+            updated = 1;
+        }
+        if (updated > 0) {
+            log.info("Raised id_blocks '{}' to last used ID {}", name, lastUsed);
+        }
+    }
+}
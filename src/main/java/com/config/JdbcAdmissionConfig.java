@@ -0,0 +1,43 @@
+package com.config;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Puts a JdbcAdmissionGate in front of the Hikari pool, with maximum-pool-size minus headroom permits.
+ * Configured under app.jdbc.admission in application.yml; on by default only with virtual threads
+ * (spring.threads.virtual.enabled), where nothing else bounds the number of requests waiting for a connection.
+ */
+@Configuration
+public class JdbcAdmissionConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcAdmissionConfig.class);
+
+    // Static so the post-processor is registered before the DataSource bean is created
+    @Bean
+    static BeanPostProcessor jdbcAdmissionGatePostProcessor(
+            @Value("${app.jdbc.admission.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+            @Value("${app.jdbc.admission.timeout:250ms}") Duration timeout,
+            @Value("${app.jdbc.admission.headroom:2}") int headroom) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof HikariDataSource hikari) {
+                    int permits = Math.max(1, hikari.getMaximumPoolSize() - headroom);
+                    log.info("JDBC admission gate: {} permits for {} connections, {}ms wait",
+                            permits, hikari.getMaximumPoolSize(), timeout.toMillis());
+                    return new JdbcAdmissionGate(hikari, permits, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource wrapper that limits how many callers may hold (or wait for) a JDBC connection.
+ *
+ * The semaphore has a few permits fewer than the pool has connections (app.jdbc.admission.headroom). A caller
+ * that cannot get a permit within the timeout gets a SQLTransientConnectionException right away instead of
+ * queueing inside the pool,
+ * which Spring surfaces as CannotCreateTransactionException / DataAccessResourceFailureException and
+ * GlobalExceptionHandler turns into 503 + Retry-After. This matters most with virtual threads, where
+ * request concurrency is no longer capped by Tomcat's 200 worker threads.
+ * The permit is released when the connection is closed (returned to the pool).
+ *
+ * A thread that already holds a connection through the gate opens further ones without a permit: that is
+ * Hibernate fetching an ID block (pooled @TableGenerator) on its own connection in the middle of a transaction.
+ * Gating it would let callers holding every permit wait on each other for the second one and be shed together;
+ * the headroom keeps pooled connections free for these short nested checkouts instead.
+ * Connections are expected to be closed on the thread that opened them (as Spring and Hibernate do).
+ */
+public class JdbcAdmissionGate extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long timeoutNanos;
+    private final LongAdder rejected = new LongAdder();
+    private final ThreadLocal<int[]> held = ThreadLocal.withInitial(() -> new int[1]);  // Open connections of this thread
+
+    /**
+     * @param target - The pooled DataSource (Hikari)
+     * @param maxPermits - Callers allowed to hold a connection at once (less than the pool size)
+     * @param timeout - How long a caller may wait for a permit before being rejected
+     */
+    public JdbcAdmissionGate(DataSource target, int maxPermits, Duration timeout) {
+        super(target);
+        this.maxPermits = maxPermits;
+        this.permits = new Semaphore(maxPermits);  // non-fair: a releasing thread can reuse its permit without a handoff
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return admitted(() -> getTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return admitted(() -> getTargetDataSource().getConnection(username, password));
+    }
+
+    // Connections currently checked out (or being checked out) through the gate
+    public int getInUse() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    // Callers waiting for a permit right now
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    // Total callers shed because no permit became free in time
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private void acquire() throws SQLException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new SQLTransientConnectionException("Database is busy: no connection available within "
+                    + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms");
+        }
+    }
+
+    // Takes a permit unless the thread is nested, and wraps the pooled connection so that closing it gives the
+    // permit back (exactly once)
+    private Connection admitted(ConnectionSupplier supplier) throws SQLException {
+        int[] open = held.get();
+        boolean nested = open[0] > 0;
+        if (!nested) {
+            acquire();
+        }
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            if (!nested) {
+                permits.release();
+            }
+            throw e;
+        }
+        open[0]++;
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    connection.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        open[0]--;
+                        if (!nested) {
+                            permits.release();
+                        }
+                    }
+                }
+                return null;
+            }
+            return invoke(connection, method, args);
+        };
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,26 @@
+package com.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Micrometer setup beyond what Spring Boot configures on its own.
+ *
+ * - Every endpoint is timed by Spring Boot as http.server.requests (tagged with method, uri template and status);
+ *   percentiles and histogram buckets for it are configured in application.yml under management.metrics.
+ * - Service classes annotated with @Timed are timed per method as app.service (tags: class, method) by the aspect below.
+ * - SQL statements per request are recorded by QueryCountFilter as app.http.sql.statements.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "app.service";  // Used in @Timed on the service classes
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
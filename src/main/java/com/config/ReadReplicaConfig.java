@@ -0,0 +1,76 @@
+package com.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read-replica routing (app.datasource.replica.enabled).
+ *
+ * Replaces Spring Boot's single DataSource with two Hikari pools, each behind its own JDBC admission gate:
+ * - primary: spring.datasource.* (pool settings under spring.datasource.hikari), for writes;
+ * - replica: app.datasource.replica.* (pool settings under app.datasource.replica.hikari), for read-only transactions.
+ * The DataSource used by JPA, JdbcTemplate and TransactionTemplate routes between them (ReplicaRoutingDataSource),
+ * falling back to the primary while the replica lags (ReplicaLagMonitor) and for clients that just wrote
+ * (ReadYourWritesFilter). Run locally with the replica-local profile (see application.yml).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primaryProperties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username}") String username,
+            @Value("${app.datasource.replica.password}") String password) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primaryProperties.determineDriverClassName())  // Same database product as the primary
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${app.datasource.replica.lag-check-interval:1s}") Duration interval,
+            MeterRegistry registry) {
+        return new ReplicaLagMonitor(new JdbcTemplate(primary), new JdbcTemplate(replica), maxLag, interval, registry);
+    }
+
+    // The pools are injected as DataSource: the admission gate post-processor has replaced the Hikari instances
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaLagMonitor lagMonitor) {
+        // Lazy: no pooled connection is taken until the first statement, so cache hits inside a
+        // transaction never touch a pool, and the routing decision sees the transaction's read-only flag
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+    }
+}
@@ -0,0 +1,49 @@
+package com.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes flag for the current request thread.
+ *
+ * Set by ReadYourWritesFilter for write requests and for reads from a client that wrote shortly before,
+ * so ReplicaRoutingDataSource sends even read-only transactions to the primary (a lagging replica could
+ * otherwise return the state from before the client's own write).
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    // Routes every transaction of the current thread to the primary until clear()
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    // Whether the current thread must read from the primary
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Runs a read against the primary. Must be the first database access of its transaction,
+     * since the pool is chosen when the transaction runs its first statement.
+     */
+    public static <T> T fromPrimary(Supplier<T> read) {
+        boolean required = isPrimaryRequired();
+        requirePrimary();
+        try {
+            return read.get();
+        } finally {
+            if (!required) {
+                clear();
+            }
+        }
+    }
+
+    // Frees the thread's flag at the end of the request
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+}
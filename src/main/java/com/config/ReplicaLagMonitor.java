@@ -0,0 +1,150 @@
+package com.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Measures how far the read replica is behind the primary, with a heartbeat row.
+ *
+ * Every check interval the primary's replica_heartbeat row is set to the current time, and the replica's
+ * copy of that row is read back: the difference from now is the replication lag (plus at most one interval).
+ * While the lag exceeds max-lag, or the replica cannot be queried, ReplicaRoutingDataSource sends reads to the
+ * primary. This works with any replication setup, since it needs no access to replication status commands.
+ * The replica is not used until the first check succeeds.
+ *
+ * Metric app.datasource.replica.lag: the last measured lag in seconds (NaN while the replica is unreachable).
+ */
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final String CREATE_TABLE =
+            "create table if not exists replica_heartbeat (id int not null primary key, beat_millis bigint not null)";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final long intervalMillis;
+
+    private volatile boolean replicaUsable;
+    private boolean checked;  // Whether the state has been logged once (checker thread only)
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean running;
+    private Thread checker;
+
+    /**
+     * @param primary - Pool the heartbeat is written to
+     * @param replica - Pool the heartbeat is read back from
+     * @param maxLag - Largest lag at which the replica still serves reads
+     * @param interval - Time between checks
+     * @param registry - Registers the lag gauge
+     */
+    public ReplicaLagMonitor(JdbcTemplate primary, JdbcTemplate replica, Duration maxLag, Duration interval,
+            MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLag.toMillis();
+        this.intervalMillis = interval.toMillis();
+        Gauge.builder("app.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica measured by the heartbeat")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    // Whether read-only transactions may use the replica right now
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    private void run() {
+        boolean tableReady = false;
+        while (running) {
+            try {
+                if (!tableReady) {
+                    primary.execute(CREATE_TABLE);
+                    tableReady = true;
+                }
+                beat();
+                check();
+            } catch (DataAccessException ex) {
+                lagSeconds = Double.NaN;
+                setUsable(false, ex.getMostSpecificCause().getMessage());
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // Writes the current time to the primary's heartbeat row (one row, shared by all instances)
+    private void beat() {
+        long now = System.currentTimeMillis();
+        if (primary.update("update replica_heartbeat set beat_millis = ? where id = 1", now) == 0) {
+            try {
+                primary.update("insert into replica_heartbeat (id, beat_millis) values (1, ?)", now);
+            } catch (DuplicateKeyException ex) {
+                // Another instance inserted it first; its beat is just as current
+            }
+        }
+    }
+
+    // Reads the heartbeat back from the replica and compares it with now
+    private void check() {
+        Long beat = replica.query("select beat_millis from replica_heartbeat where id = 1",
+                rs -> rs.next() ? rs.getLong(1) : null);
+        if (beat == null) {
+            lagSeconds = Double.NaN;
+            setUsable(false, "no heartbeat replicated yet");
+            return;
+        }
+        long lagMillis = Math.max(0, System.currentTimeMillis() - beat);
+        lagSeconds = lagMillis / 1000.0;
+        setUsable(lagMillis <= maxLagMillis, "lag " + lagMillis + "ms");
+    }
+
+    // Logs only when the state changes, so a long outage does not flood the log
+    private void setUsable(boolean usable, String reason) {
+        if (usable != replicaUsable || !checked) {
+            replicaUsable = usable;
+            checked = true;
+            if (usable) {
+                log.info("Read replica in use ({})", reason);
+            } else {
+                log.warn("Read replica not used, reads go to the primary ({})", reason);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        checker = new Thread(this::run, "replica-lag-monitor");
+        checker.setDaemon(true);
+        checker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        replicaUsable = false;
+        if (checker != null) {
+            checker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
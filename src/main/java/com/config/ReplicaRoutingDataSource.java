@@ -0,0 +1,46 @@
+package com.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary pool.
+ *
+ * The replica is only used while ReplicaLagMonitor reports it as caught up, and never for a request that
+ * must read its own writes (ReadYourWrites). Wrapped in a LazyConnectionDataSourceProxy (see ReadReplicaConfig),
+ * so the pool is picked when the first statement runs, by which time the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    /**
+     * @param primary - Pool for writes and for reads that may not go to the replica
+     * @param replica - Pool for read-only transactions
+     * @param lagMonitor - Tells whether the replica is usable right now
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();  // Not a bean of its own, so Spring does not call it
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWrites.isPrimaryRequired()
+                && lagMonitor.isReplicaUsable()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+}
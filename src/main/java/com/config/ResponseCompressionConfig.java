@@ -0,0 +1,42 @@
+package com.config;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import jakarta.servlet.ServletException;
+
+/**
+ * Paths whose responses are never compressed, whatever server.compression says (Tomcat itself only decides by
+ * MIME type and size):
+ * - /api/blogs/{id}/content: Content-Length, Content-Range and resumed ranges count the plain UTF-8 bytes,
+ *   which gzip would change.
+ *
+ * A valve ahead of the application removes Accept-Encoding from these requests, so Tomcat's compression sees a
+ * client that does not accept gzip and sends the body as it is. Nothing behind the valve reads Accept-Encoding.
+ */
+@Configuration
+public class ResponseCompressionConfig {
+
+    private static final Pattern UNCOMPRESSED = Pattern.compile("/api/blogs/[^/]+/content");
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> uncompressedPaths() {
+        return factory -> factory.addContextValves(new ValveBase(true) {  // true: streamed (async) responses pass
+            @Override
+            public void invoke(Request request, Response response) throws IOException, ServletException {
+                if (UNCOMPRESSED.matcher(request.getRequestURI()).matches()) {
+                    request.getCoyoteRequest().getMimeHeaders().removeHeader("accept-encoding");
+                }
+                getNext().invoke(request, response);
+            }
+        });
+    }
+}
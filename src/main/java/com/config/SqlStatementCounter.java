@@ -0,0 +1,64 @@
+package com.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares for the current request.
+ *
+ * Registered with Hibernate through hibernate.session_factory.statement_inspector (application.yml), so Hibernate
+ * creates the instance itself; the counter is therefore found through a static ThreadLocal. QueryCountFilter
+ * starts a counter when a request starts and reads it when the request ends. Threads that work for a request
+ * after its handler returned (streamed bodies, SSE replays) bind the request's counter while they do, so their
+ * statements count too. Statements sent through JdbcTemplate are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> COUNT = ThreadLocal.withInitial(AtomicInteger::new);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get().incrementAndGet();
+        return sql;  // The statement is not changed
+    }
+
+    // Starts counting from zero on the current thread; returns the counter, for other threads of the same request
+    public static AtomicInteger reset() {
+        AtomicInteger counter = new AtomicInteger();
+        COUNT.set(counter);
+        return counter;
+    }
+
+    // Counts the current thread's statements with an existing counter (from reset or counter)
+    public static void bind(AtomicInteger counter) {
+        COUNT.set(counter);
+    }
+
+    // The counter the current thread counts with
+    public static AtomicInteger counter() {
+        return COUNT.get();
+    }
+
+    // Statements counted by the current thread's counter since it was started
+    public static int current() {
+        return COUNT.get().get();
+    }
+
+    // Runs work on the current thread with the given counter, then restores the thread's own
+    public static <T> T countedIn(AtomicInteger counter, Supplier<T> work) {
+        AtomicInteger previous = COUNT.get();
+        COUNT.set(counter);
+        try {
+            return work.get();
+        } finally {
+            COUNT.set(previous);
+        }
+    }
+
+    // Frees the thread's counter (request threads are pooled or, with virtual threads, thrown away)
+    public static void clear() {
+        COUNT.remove();
+    }
+}
@@ -1,14 +1,37 @@
 package com.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.dto.BatchResult;
 import com.dto.BlogDTO;
+import com.dto.BlogPatch;
+import com.dto.BlogRank;
+import com.dto.BlogSummary;
+import com.dto.BulkItemResult;
+import com.dto.CursorPage;
+import com.dto.ResourceStamp;
+import com.dto.SearchPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.service.BlogContentReader;
 import com.service.BlogService;
+import com.service.BulkIngestService;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController  // ✅ Marks this class as a RESTful controller.
@@ -16,10 +39,17 @@ import jakarta.validation.Valid;
 public class BlogController {
 
     private final BlogService blogService;
+    private final BulkIngestService bulkIngestService;
+    private final BlogContentReader contentReader;
+    private final ObjectMapper objectMapper;
 
     // ✅ Constructor-based dependency injection
-    public BlogController(BlogService blogService) {
+    public BlogController(BlogService blogService, BulkIngestService bulkIngestService,
+            BlogContentReader contentReader, ObjectMapper objectMapper) {
         this.blogService = blogService;
+        this.bulkIngestService = bulkIngestService;
+        this.contentReader = contentReader;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -35,56 +65,264 @@ public class BlogController {
     }
 
     /**
-     * ✅ Get all blogs.
-     * @return ResponseEntity with a list of all blogs and HTTP status 200 (OK).
+     * ✅ Create many blogs at once from a JSON array.
+     * Each item is validated on its own; valid items are inserted in batches.
+     * @param blogs - The blogs to create.
+     * @return ResponseEntity with one result per item (in request order) and HTTP status 200 (OK).
+     */
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Tag(name = "Add the Blogs in bulk")
+    public ResponseEntity<List<BulkItemResult>> createBlogs(@RequestBody List<BlogDTO> blogs) {
+        List<BulkItemResult> results = new ArrayList<>(blogs.size());
+        bulkIngestService.createBlogs(blogs.iterator(), results::add);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * ✅ Create many blogs at once from newline-delimited JSON (one blog per line).
+     * The body is read line by line and the results are written out chunk by chunk, so uploads of any size
+     * use constant memory.
+     * @param body - The raw NDJSON request body.
+     * @param response - Receives a JSON array with one result per line (in request order), HTTP status 200 (OK).
+     */
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Tag(name = "Add the Blogs in bulk")
+    public void createBlogsFromNdjson(InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonArrayWriter<BulkItemResult> results =
+                new JsonArrayWriter<>(objectMapper, BulkItemResult.class, response.getOutputStream());
+        bulkIngestService.createBlogs(new NdjsonReader<>(objectMapper, BlogDTO.class, body), results);
+        results.close();  // Not on failure: an error before the first result still gets the normal error response
+    }
+
+    /**
+     * ✅ Get blogs one page at a time (keyset pagination on the blog ID).
+     * @param cursor - The nextCursor value of the previous page; omit for the first page.
+     * @param size - Page size (capped at BlogService.MAX_PAGE_SIZE).
+     * @return ResponseEntity with the page of blogs and HTTP status 200 (OK).
      */
     @GetMapping
     @Tag(name = "Get all the Blogs")
-    public ResponseEntity<List<BlogDTO>> getAllBlogs() {
-        List<BlogDTO> blogs = blogService.getAllBlogs();
+    public ResponseEntity<CursorPage<BlogDTO>> getAllBlogs(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BlogService.DEFAULT_PAGE_SIZE) int size) {
+        CursorPage<BlogDTO> blogs = blogService.getAllBlogs(cursor, size);
         return ResponseEntity.ok(blogs);
     }
 
+    /**
+     * ✅ Get blog summaries one page at a time (GET /api/blogs?view=summary).
+     * Returns the title, content length, comment count and a short excerpt instead of the full content.
+     * @param cursor - The nextCursor value of the previous page; omit for the first page.
+     * @param size - Page size (capped at BlogService.MAX_PAGE_SIZE).
+     * @return ResponseEntity with the page of summaries and HTTP status 200 (OK).
+     */
+    @GetMapping(params = "view=summary")
+    @Tag(name = "Get all the Blogs")
+    public ResponseEntity<CursorPage<BlogSummary>> getBlogSummaries(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + BlogService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(blogService.getBlogSummaries(cursor, size));
+    }
+
+    /**
+     * ✅ Full-text search over blog titles and contents (GET /api/blogs/search?q=...).
+     * Ranked by relevance (BM25) and answered from an in-memory index, without querying the database.
+     * @param q - Free-text query.
+     * @param prefix - Whether the last word also matches longer words, for search-as-you-type (default true).
+     * @param page - Zero-based page number.
+     * @param size - Page size (capped at BlogService.MAX_PAGE_SIZE).
+     * @return ResponseEntity with the page of hits and HTTP status 200 (OK).
+     */
+    @GetMapping("/search")
+    @Tag(name = "Search the Blogs")
+    public ResponseEntity<SearchPage> searchBlogs(@RequestParam String q,
+            @RequestParam(defaultValue = "true") boolean prefix,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + BlogService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(blogService.searchBlogs(q, prefix, page, size));
+    }
+
+    /**
+     * ✅ Get the most commented blogs (GET /api/blogs/most-discussed?limit=10).
+     * Served from an in-memory ranking backed by the stored comment counts; comments are never counted per request.
+     * @param limit - Number of blogs wanted (capped at app.ranking.most-discussed.capacity).
+     * @return ResponseEntity with the ranked blogs and HTTP status 200 (OK).
+     */
+    @GetMapping("/most-discussed")
+    @Tag(name = "Get the most discussed Blogs")
+    public ResponseEntity<List<BlogRank>> getMostDiscussed(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(blogService.getMostDiscussed(limit));
+    }
+
+    /**
+     * ✅ Get several blogs in one request (GET /api/blogs/batch?ids=1,2,3).
+     * Cached blogs come from the cache and the rest from one database query; IDs that do not exist
+     * are listed in "missing" instead of failing the whole request.
+     * @param ids - The blog IDs (at most BlogService.MAX_BATCH_IDS distinct ones).
+     * @return ResponseEntity with the blogs in request order and the missing IDs, HTTP status 200 (OK).
+     */
+    @GetMapping("/batch")
+    @Tag(name = "Get the Blogs By ids")
+    public ResponseEntity<BatchResult<BlogDTO>> getBlogsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(blogService.getBlogsByIds(ids));
+    }
+
+    /**
+     * ✅ Stream every blog as newline-delimited JSON (Accept: application/x-ndjson).
+     * Rows are written as they are read from the database, so memory stays flat regardless of table size.
+     * @return ResponseEntity whose body writes one BlogDTO per line.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Tag(name = "Get all the Blogs")
+    public ResponseEntity<StreamingResponseBody> streamAllBlogs() {
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter<BlogDTO> writer = new NdjsonWriter<>(objectMapper, BlogDTO.class, out)) {
+                blogService.streamAllBlogs(blog -> {
+                    try {
+                        writer.write(blog);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);  // Client went away; aborts the database stream too
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * ✅ Get a specific blog by ID.
+     * Supports conditional GET: with If-None-Match / If-Modified-Since, an unchanged blog is answered
+     * with 304 after checking only its version (cache or one primary key lookup).
      * @param id - The blog ID.
-     * @return ResponseEntity with the found blog or HTTP status 404 if not found.
+     * @param request - The current request, used to evaluate its validators.
+     * @return ResponseEntity with the found blog, 304 if unchanged, or HTTP status 404 if not found.
      */
     @GetMapping("/{id}")
     @Tag(name = "Get the Blog By id")
-    public ResponseEntity<?> getBlogById(@PathVariable Long id) {
+    public ResponseEntity<?> getBlogById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalRequests.isConditional(request)
+                && ConditionalRequests.notModified(request, "blog", id, blogService.getBlogStamp(id))) {
+            return null;  // 304 Not Modified; status and headers are already set
+        }
         BlogDTO blog = blogService.getBlogById(id);
         if (blog == null) {
             return new ResponseEntity<>("The Blog was not found with id " + id, HttpStatus.NOT_FOUND);
         }
-        return new ResponseEntity<>(blog, HttpStatus.OK);
+        return ConditionalRequests.withValidators(ResponseEntity.ok(), "blog", id,
+                new ResourceStamp(blog.getVersion(), blog.getUpdatedAt())).body(blog);
+    }
+
+    /**
+     * ✅ Get only the content of a blog as text/plain, streamed from the database (GET /api/blogs/{id}/content).
+     * Supports a single byte range (Range: bytes=first-last, UTF-8 offsets) with If-Range, so large posts can be
+     * fetched or resumed in pieces, and conditional GET like the blog itself (same ETag).
+     * Several ranges or an unreadable Range header get the whole content (200).
+     * Never compressed (com.config.ResponseCompressionConfig), so lengths and offsets are those of the plain bytes.
+     * @param id - The blog ID.
+     * @param range - Optional Range header.
+     * @param request - The current request, used to evaluate its validators.
+     * @return The content (200), the requested bytes (206), 304 if unchanged, 404 if not found, or 416 if the range lies beyond the end.
+     */
+    @GetMapping(path = "/{id}/content", produces = MediaType.TEXT_PLAIN_VALUE)
+    @Tag(name = "Get the Blog By id")
+    public ResponseEntity<StreamingResponseBody> getBlogContent(@PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.RANGE, required = false) String range, WebRequest request) {
+        BlogContentReader.Body content = contentReader.find(id);
+        if (ConditionalRequests.isConditional(request)
+                && ConditionalRequests.notModified(request, "blog", id, content.stamp())) {
+            return null;  // 304 Not Modified; status and headers are already set
+        }
+        long size = content.size();
+        long first = 0;
+        long last = size - 1;
+        boolean partial = false;
+        if (range != null && ConditionalRequests.rangeApplies(request, "blog", id, content.stamp())) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException ex) {
+                ranges = List.of();  // Malformed: ignored, as RFC 9110 allows
+            }
+            if (ranges.size() == 1) {
+                first = ranges.get(0).getRangeStart(size);
+                last = ranges.get(0).getRangeEnd(size);
+                if (first >= size || first > last) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size).build();
+                }
+                partial = true;
+            }
+        }
+
+        long from = first;
+        long to = last;
+        StreamingResponseBody body = out -> contentReader.write(id, content.stamp().version(), from, to, out);
+        ResponseEntity.BodyBuilder response = ConditionalRequests.withValidators(
+                ResponseEntity.status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK), "blog", id, content.stamp())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .contentLength(Math.max(0, last - first + 1));
+        if (partial) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + first + "-" + last + "/" + size);
+        }
+        return response.body(body);
     }
 
     /**
      * ✅ Update a blog by ID.
+     * With If-Match (the ETag of a GET), the blog is only updated if nobody changed it since, in a single
+     * UPDATE statement; otherwise HTTP status 409 (Conflict) is returned and the client should reload.
+     * Without If-Match, concurrent updates are still detected (409) instead of overwriting each other.
      * @param id - The blog ID.
+     * @param ifMatch - Optional ETag of the version being replaced.
      * @param blogDto - Updated blog details.
-     * @return ResponseEntity with the updated blog or HTTP status 404 if not found.
+     * @return ResponseEntity with the updated blog and its new ETag, HTTP status 404 if not found, or 409 on a conflict.
      */
     @PutMapping("/{id}")
     @Tag(name = "Update the Blog")
-    public ResponseEntity<?> updateBlog(@PathVariable Long id, @Valid @RequestBody BlogDTO blogDto) {
-        BlogDTO blog = blogService.updateBlog(id, blogDto);
+    public ResponseEntity<?> updateBlog(@PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody BlogDTO blogDto) {
+        Long expectedVersion = ConditionalRequests.expectedVersion(ifMatch, "blog", id);
+        BlogDTO blog = expectedVersion != null
+                ? blogService.updateBlog(id, blogDto, expectedVersion)
+                : blogService.updateBlog(id, blogDto);
         if (blog == null) {
             return new ResponseEntity<>("The Blog was not found with id " + id, HttpStatus.NOT_FOUND);
         }
-        return new ResponseEntity<>(blog, HttpStatus.OK);
+        return ConditionalRequests.withValidators(ResponseEntity.ok(), "blog", id,
+                new ResourceStamp(blog.getVersion(), blog.getUpdatedAt())).body(blog);
+    }
+
+    /**
+     * ✅ Change only the title and/or the content of a blog, with a single UPDATE statement.
+     * Honors If-Match like PUT does (HTTP status 409 if the blog was changed since).
+     * @param id - The blog ID.
+     * @param ifMatch - Optional ETag of the version being changed.
+     * @param patch - The fields to change; absent fields keep their value.
+     * @return ResponseEntity with the updated blog and its new ETag, HTTP status 404 if not found, or 409 on a conflict.
+     */
+    @PatchMapping("/{id}")
+    @Tag(name = "Update the Blog")
+    public ResponseEntity<BlogDTO> patchBlog(@PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody BlogPatch patch) {
+        BlogDTO blog = blogService.patchBlog(id, patch, ConditionalRequests.expectedVersion(ifMatch, "blog", id));
+        return ConditionalRequests.withValidators(ResponseEntity.ok(), "blog", id,
+                new ResourceStamp(blog.getVersion(), blog.getUpdatedAt())).body(blog);
     }
 
     /**
-     * ✅ Delete a blog by ID.
+     * ✅ Delete a blog by ID, together with its comments.
      * @param id - The blog ID.
-     * @return ResponseEntity with a success message.
+     * @return ResponseEntity with a success message, or HTTP status 202 (Accepted) if a blog with a very
+     *         large thread is being purged in the background.
      */
     @DeleteMapping("/{id}")
     @Tag(name = "Delete the Blog")
     public ResponseEntity<String> deleteBlog(@PathVariable Long id) {
-        blogService.deleteBlog(id);
+        if (!blogService.deleteBlog(id)) {
+            return ResponseEntity.accepted().body("The blog with id " + id + " is being deleted");
+        }
         return ResponseEntity.ok("The blog deleted successfully with id " + id);
     }
 }
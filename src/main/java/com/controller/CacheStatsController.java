@@ -0,0 +1,52 @@
+package com.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Exposes hit/miss/eviction counters of the in-process caches so they can be sized.
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+public class CacheStatsController {
+
+    private final CacheManager cacheManager;
+
+    public CacheStatsController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * ✅ Get the statistics of every Caffeine cache.
+     * @return ResponseEntity with one entry per cache name.
+     */
+    @GetMapping
+    @Tag(name = "Get the cache statistics")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        Map<String, Map<String, Object>> response = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                CacheStats stats = cache.getNativeCache().stats();
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("size", cache.getNativeCache().estimatedSize());
+                entry.put("hits", stats.hitCount());
+                entry.put("misses", stats.missCount());
+                entry.put("hitRate", stats.hitRate());
+                entry.put("evictions", stats.evictionCount());
+                response.put(name, entry);
+            }
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,42 @@
+package com.controller;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Response body that is served from EncodedResponseCache (written by CachedBodyConverter).
+ * The value is only computed on a cache miss, so a hit skips the service call as well.
+ *
+ * @param key          Identifies the content: the resource's ETag plus the query parameters.
+ * @param acceptsGzip  Whether the client accepts a gzip-encoded body.
+ * @param value        Computes the DTO to serialize on a miss.
+ */
+record CachedBody(String key, boolean acceptsGzip, Supplier<?> value) {
+
+    static CachedBody of(WebRequest request, String key, Supplier<?> value) {
+        return new CachedBody(key, acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)), value);
+    }
+
+    // True if Accept-Encoding lists gzip (or *) without q=0
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().replace(" ", "");
+                refused |= parameter.matches("q=0(\\.0{0,3})?");
+            }
+            return !refused;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,89 @@
+package com.controller;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import com.cache.EncodedResponseCache;
+import com.config.ContentFormatsConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes CachedBody responses as JSON, CBOR or Smile (whichever Spring's content negotiation picked),
+ * using the pre-serialized bytes from EncodedResponseCache when present.
+ * Clients that accept gzip get the stored gzipped bytes with Content-Encoding: gzip, which Tomcat passes through
+ * without compressing again.
+ *
+ * Registered as a bean, so Spring Boot puts it in front of the Jackson converters.
+ */
+@Component
+class CachedBodyConverter extends AbstractHttpMessageConverter<CachedBody> {
+
+    private final Map<MediaType, ObjectMapper> mappers = new LinkedHashMap<>();  // Format → mapper; JSON first, the default for Accept: */*
+    private final EncodedResponseCache cache;
+
+    CachedBodyConverter(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cbor,
+            MappingJackson2SmileHttpMessageConverter smile, EncodedResponseCache cache) {
+        mappers.put(MediaType.APPLICATION_JSON, objectMapper);
+        mappers.put(MediaType.APPLICATION_CBOR, cbor.getObjectMapper());
+        mappers.put(ContentFormatsConfig.APPLICATION_SMILE, smile.getObjectMapper());
+        setSupportedMediaTypes(List.copyOf(mappers.keySet()));
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CachedBody.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;  // Response-only type
+    }
+
+    @Override
+    protected CachedBody readInternal(Class<? extends CachedBody> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CachedBody is a response-only type", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(CachedBody body, HttpOutputMessage outputMessage) throws IOException {
+        HttpHeaders headers = outputMessage.getHeaders();
+        MediaType format = formatOf(headers.getContentType());
+        ObjectMapper mapper = mappers.get(format);
+        EncodedResponseCache.Encoded encoded = cache.get(body.key(), format,
+                () -> mapper.writeValueAsBytes(body.value().get()));
+
+        byte[] bytes = encoded.identity();
+        headers.setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));  // Same URL, different bytes per format and coding
+        if (body.acceptsGzip() && encoded.gzip() != null) {
+            bytes = encoded.gzip();
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        headers.setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    // The negotiated Content-Type without parameters such as charset (JSON when none was set)
+    private MediaType formatOf(MediaType contentType) {
+        if (contentType != null) {
+            for (MediaType format : mappers.keySet()) {
+                if (format.equalsTypeAndSubtype(contentType)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
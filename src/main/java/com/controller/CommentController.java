@@ -1,19 +1,40 @@
 package com.controller; // Defines the package where this class belongs
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList; // Collects bulk results
 import java.util.List; // Import List for returning multiple comments
+import java.util.concurrent.atomic.AtomicInteger; // Statement counter of the request, shared with the SSE replay
 
+import org.springframework.http.MediaType; // Media types for content negotiation (NDJSON streaming)
 import org.springframework.http.ResponseEntity; // Used for HTTP responses
 import org.springframework.web.bind.annotation.GetMapping; // Maps HTTP GET requests
 import org.springframework.web.bind.annotation.PathVariable; // Extracts values from the URL
 import org.springframework.web.bind.annotation.PostMapping; // Maps HTTP POST requests
 import org.springframework.web.bind.annotation.RequestBody; // Binds request body to a Java object
+import org.springframework.web.bind.annotation.RequestHeader; // Binds request headers
 import org.springframework.web.bind.annotation.RequestMapping; // Defines base URL for controller
+import org.springframework.web.bind.annotation.RequestParam; // Binds query parameters
 import org.springframework.web.bind.annotation.RestController; // Marks this class as a REST API controller
+import org.springframework.web.context.request.WebRequest; // Access to conditional request headers
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter; // Server-sent event stream
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody; // Body written after the handler returns
 
+import com.config.SqlStatementCounter; // Per-request SQL statement count (QueryCountFilter)
+import com.dto.BatchResult; // Multi-get response: items in request order + missing IDs
+import com.dto.BulkItemResult; // Per-item outcome of a bulk request
 import com.dto.CommentDTO; // Importing Data Transfer Object (DTO) for comments
+import com.dto.CursorPage; // Keyset page wrapper, used for the replay of missed comments
+import com.dto.ResourceStamp; // Version + last-change time for ETags
+import com.fasterxml.jackson.databind.ObjectMapper; // JSON serializer for streamed responses
+import com.service.BulkIngestService; // Batched bulk inserts
 import com.service.CommentService; // Importing service layer to handle business logic
+import com.service.CommentStreamHub; // Fan-out of new comments to SSE subscribers
+import com.service.CommentWriteBehindQueue; // Optional asynchronous comment writes
 
 import io.swagger.v3.oas.annotations.tags.Tag; // Swagger annotation for API documentation
+import jakarta.servlet.http.HttpServletResponse; // Bulk results are streamed to the response
 import jakarta.validation.Valid; // Ensures request body validation
 
 /**
@@ -24,58 +45,220 @@ import jakarta.validation.Valid; // Ensures request body validation
 public class CommentController {
 	
 	private final CommentService commentService; // Service layer for handling comment-related operations
+    private final BulkIngestService bulkIngestService; // Service layer for bulk comment creation
+    private final ObjectMapper objectMapper; // Used to read and write NDJSON lines
+    private final CommentWriteBehindQueue commentWriteQueue; // Used instead of CommentService when write-behind is enabled
+    private final CommentStreamHub commentStreamHub; // Live comment streams
 
     /**
      * Constructor-based dependency injection of CommentService.
      * @param commentService - Service class to handle business logic
+     * @param bulkIngestService - Service class for bulk inserts
+     * @param objectMapper - Spring's configured Jackson mapper
+     * @param commentWriteQueue - Write-behind queue for posted comments
+     * @param commentStreamHub - Fan-out hub for the comment streams
      */
-    public CommentController(CommentService commentService) {
+    public CommentController(CommentService commentService, BulkIngestService bulkIngestService,
+            ObjectMapper objectMapper, CommentWriteBehindQueue commentWriteQueue, CommentStreamHub commentStreamHub) {
         this.commentService = commentService;
+        this.bulkIngestService = bulkIngestService;
+        this.objectMapper = objectMapper;
+        this.commentWriteQueue = commentWriteQueue;
+        this.commentStreamHub = commentStreamHub;
     }
 
     /**
      * 🌟 API: Add a Comment to a Blog
      * 📌 URL: POST /api/blogs/{blogId}/comments
      * This method adds a comment to a specific blog.
+     * With app.comments.write-behind.enabled the comment is queued instead: the response is 202 Accepted
+     * with the comment's final ID, and 429 when the queue is full.
      * 
      * @param blogId - The ID of the blog to which the comment belongs
      * @param commentDto - The comment data received from the request body
-     * @return ResponseEntity with the saved comment DTO
+     * @return ResponseEntity with the saved (200) or accepted (202) comment DTO
      */
     @PostMapping("/{blogId}/comments") // Maps HTTP POST requests to /api/blogs/{blogId}/comments
     @Tag(name="Add the Comment") // Swagger documentation tag
     public ResponseEntity<CommentDTO> postComment(@PathVariable Long blogId, @Valid @RequestBody CommentDTO commentDto) {
+        if (commentWriteQueue.isEnabled()) {
+            return ResponseEntity.accepted().body(commentWriteQueue.enqueue(blogId, commentDto)); // Saved shortly by the writer thread
+        }
     	commentDto.setBlogId(blogId); // Associate the comment with the given blogId
         return ResponseEntity.ok(commentService.postComment(blogId, commentDto)); // Call service method to save the comment
     }
 
     /**
-     * 🌟 API: Get All Comments for a Blog
-     * 📌 URL: GET /api/blogs/{blogId}/comments
-     * This method retrieves all comments associated with a specific blog.
+     * 🌟 API: Add many Comments to a Blog
+     * 📌 URL: POST /api/blogs/{blogId}/comments/bulk (JSON array)
+     * Each comment is validated on its own; valid comments are inserted in batches.
+     * 
+     * @param blogId - The ID of the blog to which the comments belong
+     * @param comments - The comments to create
+     * @return ResponseEntity with one result per item, in request order
+     */
+    @PostMapping(path = "/{blogId}/comments/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Tag(name="Add the Comments in bulk") // Swagger documentation tag
+    public ResponseEntity<List<BulkItemResult>> postComments(@PathVariable Long blogId, @RequestBody List<CommentDTO> comments) {
+        List<BulkItemResult> results = new ArrayList<>(comments.size());
+        bulkIngestService.createComments(blogId, comments.iterator(), results::add);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * 🌟 API: Add many Comments to a Blog from NDJSON
+     * 📌 URL: POST /api/blogs/{blogId}/comments/bulk (application/x-ndjson, one comment per line)
+     * The body is read line by line and the results are written out chunk by chunk, so uploads of any size
+     * use constant memory.
+     * 
+     * @param blogId - The ID of the blog to which the comments belong
+     * @param body - The raw NDJSON request body
+     * @param response - Receives a JSON array with one result per line, in request order
+     */
+    @PostMapping(path = "/{blogId}/comments/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Tag(name="Add the Comments in bulk") // Swagger documentation tag
+    public void postCommentsFromNdjson(@PathVariable Long blogId, InputStream body, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonArrayWriter<BulkItemResult> results =
+                new JsonArrayWriter<>(objectMapper, BulkItemResult.class, response.getOutputStream());
+        bulkIngestService.createComments(blogId, new NdjsonReader<>(objectMapper, CommentDTO.class, body), results);
+        results.close();  // Not on failure: an error before the first result still gets the normal error response
+    }
+
+    /**
+     * 🌟 API: Get Comments for a Blog, one page at a time
+     * 📌 URL: GET /api/blogs/{blogId}/comments?cursor=&size=
+     * This method retrieves a keyset-paginated page of comments, oldest first.
+     * Pollers sending If-None-Match get a 304 while no new comment has been posted.
+     * The body is a CursorPage of CommentDTOs in JSON, CBOR or Smile (Accept header). Pages are kept
+     * serialized (and gzipped) per thread revision, so repeated reads of an unchanged page are written as stored bytes.
      * 
      * @param blogId - The ID of the blog for which comments are retrieved
-     * @return ResponseEntity with a list of CommentDTOs
+     * @param cursor - The nextCursor value of the previous page; omit for the first page
+     * @param size - Page size (capped at CommentService.MAX_PAGE_SIZE)
+     * @param request - The current request, used to evaluate its validators
+     * @return ResponseEntity with a page of CommentDTOs, or 304 if the thread is unchanged
      */
     @GetMapping("/{blogId}/comments") // Maps HTTP GET requests to /api/blogs/{blogId}/comments
     @Tag(name="Get all the Comments based on blog id") // Swagger documentation tag
-    public ResponseEntity<List<CommentDTO>> getCommentsByBlogId(@PathVariable Long blogId) {
-        List<CommentDTO> comments = commentService.getCommentsByBlogId(blogId); // Call service method to fetch comments
-        return ResponseEntity.ok(comments); // Return comments with HTTP 200 OK status
+    public ResponseEntity<?> getCommentsByBlogId(@PathVariable Long blogId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CommentService.DEFAULT_PAGE_SIZE) int size, WebRequest request) {
+        ResourceStamp stamp = commentService.getThreadStamp(blogId); // Thread version, bumped by every comment commit
+        if (ConditionalRequests.notModified(request, "thread", blogId, stamp)) {
+            return null; // 304 Not Modified; status and headers are already set
+        }
+        String key = ConditionalRequests.etag("thread", blogId, stamp) + "?cursor=" + cursor + "&size=" + size; // Same revision + same page = same bytes
+        return ConditionalRequests.withValidators(ResponseEntity.ok(), "thread", blogId, stamp)
+                .body(CachedBody.of(request, key, () -> commentService.getCommentsByBlogId(blogId, cursor, size))); // Page is only fetched on a cache miss
+    }
+
+    /**
+     * 🌟 API: Get the Latest Comments for a Blog
+     * 📌 URL: GET /api/blogs/{blogId}/comments?latest=N
+     * Fast path that returns the newest N comments, newest first (supports conditional GET like the paged list).
+     * Served from stored bytes per thread revision, like the paged list.
+     * 
+     * @param blogId - The ID of the blog for which comments are retrieved
+     * @param latest - Number of comments wanted (capped at CommentService.MAX_PAGE_SIZE)
+     * @param request - The current request, used to evaluate its validators
+     * @return ResponseEntity with a list of CommentDTOs, or 304 if the thread is unchanged
+     */
+    @GetMapping(path = "/{blogId}/comments", params = "latest")
+    @Tag(name="Get all the Comments based on blog id") // Swagger documentation tag
+    public ResponseEntity<?> getLatestComments(@PathVariable Long blogId, @RequestParam int latest,
+            WebRequest request) {
+        ResourceStamp stamp = commentService.getThreadStamp(blogId);
+        if (ConditionalRequests.notModified(request, "thread", blogId, stamp)) {
+            return null; // 304 Not Modified
+        }
+        String key = ConditionalRequests.etag("thread", blogId, stamp) + "?latest=" + latest;
+        return ConditionalRequests.withValidators(ResponseEntity.ok(), "thread", blogId, stamp)
+                .body(CachedBody.of(request, key, () -> commentService.getLatestComments(blogId, latest)));
+    }
+
+    /**
+     * 🌟 API: Stream All Comments for a Blog
+     * 📌 URL: GET /api/blogs/{blogId}/comments (Accept: application/x-ndjson)
+     * Writes one CommentDTO per line in chunks as rows are read, so huge threads never sit in memory.
+     * 
+     * @param blogId - The ID of the blog for which comments are streamed
+     * @return ResponseEntity whose body streams the comments
+     */
+    @GetMapping(path = "/{blogId}/comments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Tag(name="Get all the Comments based on blog id") // Swagger documentation tag
+    public ResponseEntity<StreamingResponseBody> streamCommentsByBlogId(@PathVariable Long blogId) {
+        commentService.requireBlog(blogId); // 404 must be decided before the streamed body commits a 200
+        StreamingResponseBody body = out -> {
+            try (NdjsonWriter<CommentDTO> writer = new NdjsonWriter<>(objectMapper, CommentDTO.class, out)) {
+                commentService.streamCommentsByBlogId(blogId, comment -> {
+                    try {
+                        writer.write(comment);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex); // Client went away; aborts the database stream too
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
     
+    /**
+     * 🌟 API: Follow new Comments on a Blog
+     * 📌 URL: GET /api/blogs/{blogId}/comments/stream (Accept: text/event-stream)
+     * Server-sent events instead of polling: one "comment" event per new comment, with the comment ID as event ID.
+     * A reconnecting EventSource sends Last-Event-ID and gets the comments it missed first (or pass ?after=ID);
+     * a "reset" event means too many were missed and the thread should be reloaded with GET.
+     * 
+     * @param blogId - The ID of the blog to follow
+     * @param lastEventId - ID of the last comment the client received (sent by EventSource on reconnect)
+     * @param after - Same as Last-Event-ID, for clients that cannot set headers
+     * @return The event stream
+     */
+    @GetMapping(path = "/{blogId}/comments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Tag(name="Follow the Comments of a Blog") // Swagger documentation tag
+    public SseEmitter streamNewComments(@PathVariable Long blogId,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long after) {
+        commentService.requireBlog(blogId); // 404 must be decided before the stream starts
+        Long lastSeenId = lastEventId != null ? lastEventId : after;
+        AtomicInteger statements = SqlStatementCounter.counter(); // The replay runs on the hub's threads; its queries count for this request
+        return commentStreamHub.subscribe(blogId, lastSeenId, afterId -> SqlStatementCounter.countedIn(statements, () ->
+                commentService.getCommentsByBlogId(blogId, CursorPage.encodeCursor(afterId), CommentService.MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * This method retrieves several comments by ID in one request (GET /api/blogs/comment/batch?ids=1,2,3).
+     * Cached comments come from the cache and the rest from one database query; IDs that do not exist
+     * are listed in "missing" instead of failing the whole request.
+     *
+     * @param ids - The comment IDs (at most BlogService.MAX_BATCH_IDS distinct ones)
+     * @return ResponseEntity with the comments in request order and the missing IDs
+     */
+    @GetMapping("/comment/batch") // Maps HTTP GET requests to /api/blogs/comment/batch
+    @Tag(name="Get the comments by ids") // Swagger documentation tag
+    public ResponseEntity<BatchResult<CommentDTO>> getCommentsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(commentService.getCommentsByIds(ids));
+    }
+
     /**
      * 🌟 API: Get a Comment by ID
      * 📌 URL: GET /api/blogs/comment/{commentId}
-     * This method retrieves a specific comment by its ID.
+     * This method retrieves a specific comment by its ID (supports conditional GET).
      * 
      * @param commentId - The ID of the comment to retrieve
-     * @return ResponseEntity with the CommentDTO
+     * @param request - The current request, used to evaluate its validators
+     * @return ResponseEntity with the CommentDTO, or 304 if the client's copy is current
      */
     @GetMapping("/comment/{commentId}") // Maps HTTP GET requests to /api/blogs/comment/{commentId}
     @Tag(name="Get the comment by id") // Swagger documentation tag
-    public ResponseEntity<CommentDTO> getCommentById(@PathVariable Long commentId) {
+    public ResponseEntity<CommentDTO> getCommentById(@PathVariable Long commentId, WebRequest request) {
+        if (ConditionalRequests.isConditional(request)
+                && ConditionalRequests.notModified(request, "comment", commentId, commentService.getCommentStamp(commentId))) {
+            return null; // 304 Not Modified
+        }
         CommentDTO commentDto = commentService.getCommentById(commentId); // Call service method to fetch a single comment
-        return ResponseEntity.ok(commentDto); // Return the comment with HTTP 200 OK status
+        return ConditionalRequests.withValidators(ResponseEntity.ok(), "comment", commentId,
+                new ResourceStamp(commentDto.getId(), commentDto.getUpdatedAt())).body(commentDto); // Return the comment with HTTP 200 OK status
     }
 }
@@ -0,0 +1,87 @@
+package com.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import com.dto.ResourceStamp;
+import com.exceptions.ConflictException;
+
+/**
+ * Helpers for conditional GETs (ETag / If-None-Match and Last-Modified / If-Modified-Since),
+ * range requests (If-Range) and conditional updates (If-Match).
+ * ETags have the form "{kind}-{id}-{version}", so they only change when the resource does.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    // True if the client sent a validator, i.e. a 304 might be possible
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // Quoted strong ETag for a resource revision
+    static String etag(String kind, Long id, ResourceStamp stamp) {
+        return "\"" + kind + "-" + id + "-" + stamp.version() + "\"";
+    }
+
+    // Last-Modified in epoch millis, or -1 when the resource has no timestamp (e.g. rows from before the column existed)
+    static long lastModified(ResourceStamp stamp) {
+        return stamp.updatedAt() != null ? stamp.updatedAt().toEpochMilli() : -1;
+    }
+
+    /**
+     * Compares the request's validators against the current revision.
+     * On a match, the 304 status and validator headers are already set on the response.
+     */
+    static boolean notModified(WebRequest request, String kind, Long id, ResourceStamp stamp) {
+        return request.checkNotModified(etag(kind, id, stamp), lastModified(stamp));
+    }
+
+    /**
+     * Whether a Range header may be honored: there is no If-Range, or it names the current revision.
+     * An If-Range date is not compared (the full body is sent), which is always a valid answer.
+     */
+    static boolean rangeApplies(WebRequest request, String kind, Long id, ResourceStamp stamp) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.trim().equals(etag(kind, id, stamp));
+    }
+
+    /**
+     * Reads the version a conditional update expects from its If-Match header.
+     * A weak ETag is accepted too, since compressed responses may have had their ETag weakened.
+     * @return The version, or null if there is no If-Match header or it is "*" (any current version).
+     * @throws ConflictException if the header names no version of this resource, so it cannot match.
+     */
+    static Long expectedVersion(String ifMatch, String kind, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        String prefix = "\"" + kind + "-" + id + "-";
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+            try {
+                return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+            } catch (NumberFormatException ex) {
+                // Falls through: not one of our ETags
+            }
+        }
+        throw new ConflictException("If-Match " + ifMatch + " does not match any version of " + kind + " " + id);
+    }
+
+    // Adds ETag and (if known) Last-Modified to a 200 response
+    static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder response, String kind, Long id,
+            ResourceStamp stamp) {
+        response.eTag(etag(kind, id, stamp));
+        if (stamp.updatedAt() != null) {
+            response.lastModified(stamp.updatedAt());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,58 @@
+package com.controller;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes objects one by one as the elements of a single JSON array to a response stream, so a response
+ * of any length is never held in memory. Output is buffered by the JSON generator like NdjsonWriter's.
+ * Nothing is written before the first element (or close), so an exception thrown before that still
+ * gets a normal error response.
+ *
+ * @param <T> Type of the array elements
+ */
+class JsonArrayWriter<T> implements Consumer<T>, Closeable {
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+    private boolean started;
+
+    JsonArrayWriter(ObjectMapper objectMapper, Class<T> type, OutputStream out) throws IOException {
+        this.writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(out);
+    }
+
+    // Writes one element (IOExceptions are rethrown unchecked, as Consumer allows no checked exceptions)
+    @Override
+    public void accept(T value) {
+        try {
+            start();
+            writer.writeValue(generator, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Closes the array (an empty one if nothing was written) and flushes; the container closes the stream
+    @Override
+    public void close() throws IOException {
+        start();
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            generator.writeStartArray();
+            started = true;
+        }
+    }
+}
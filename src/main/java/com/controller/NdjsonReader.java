@@ -0,0 +1,65 @@
+package com.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Reads a newline-delimited JSON request body lazily, one object per line.
+ * Blank lines are skipped. A line that is not valid JSON for the target type is returned as null,
+ * so the caller can report it for that item and carry on with the rest of the body.
+ *
+ * @param <T> Type of the objects being read
+ */
+class NdjsonReader<T> implements Iterator<T> {
+
+    private final ObjectReader reader;
+    private final BufferedReader lines;
+    private String nextLine;
+
+    NdjsonReader(ObjectMapper objectMapper, Class<T> type, InputStream in) {
+        this.reader = objectMapper.readerFor(type);
+        this.lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (nextLine == null) {
+                String line = lines.readLine();
+                if (line == null) {
+                    return false;
+                }
+                if (!line.isBlank()) {
+                    nextLine = line;
+                }
+            }
+            return true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        nextLine = null;
+        try {
+            return reader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            return null;  // Reported as an invalid item by the caller
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.controller;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Writes objects as newline-delimited JSON (one JSON document per line) to a response stream.
+ * Output is buffered by the JSON generator and flushed when the buffer fills, not after every row.
+ *
+ * @param <T> Type of the objects being written
+ */
+class NdjsonWriter<T> implements Closeable {
+
+    private final ObjectWriter writer;
+    private final JsonGenerator generator;
+
+    NdjsonWriter(ObjectMapper objectMapper, Class<T> type, OutputStream out) throws IOException {
+        this.writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.setRootValueSeparator(null);  // Lines are separated by '\n' below, not the default space
+    }
+
+    // Writes a single object followed by a newline
+    void write(T value) throws IOException {
+        writer.writeValue(generator, value);
+        generator.writeRaw('\n');
+    }
+
+    // Flushes remaining buffered rows; the servlet container owns and closes the underlying stream
+    @Override
+    public void close() throws IOException {
+        generator.flush();
+    }
+}
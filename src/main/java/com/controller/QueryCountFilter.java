@@ -0,0 +1,132 @@
+package com.controller;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.config.SqlStatementCounter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL statements Hibernate issues for each request.
+ *
+ * - Response header X-SQL-Statement-Count: set just before the body is written (see Header below), so it
+ *   covers everything the endpoint did. Streamed (NDJSON) bodies run their queries after the headers are sent.
+ * - Metric app.http.sql.statements (tags: method, uri template): recorded when the request completes, with
+ *   percentiles configured in application.yml. One counter lives for the whole request: it is kept as a request
+ *   attribute, bound again on the async dispatch, and bound to the thread that writes a StreamingResponseBody
+ *   (AsyncWork below). The SSE replay binds it itself (CommentController). An async request is recorded on its
+ *   last dispatch, so streamed and SSE responses are counted in full.
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+    static final String METRIC = "app.http.sql.statements";
+    private static final String COUNTER = QueryCountFilter.class.getName() + ".counter";  // Request attribute
+
+    private final MeterRegistry registry;
+
+    public QueryCountFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // Async requests come back through the filter when their result or stream is complete
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AtomicInteger counter = (AtomicInteger) request.getAttribute(COUNTER);
+        if (counter == null) {
+            request.setAttribute(COUNTER, SqlStatementCounter.reset());
+        } else {
+            SqlStatementCounter.bind(counter);  // Async dispatch: keep counting for the same request
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (uri != null && !request.isAsyncStarted()) {  // Reached a controller, and this is the last dispatch
+                DistributionSummary.builder(METRIC)
+                        .description("SQL statements issued by Hibernate per request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri.toString())
+                        .register(registry)
+                        .record(SqlStatementCounter.current());
+            }
+            SqlStatementCounter.clear();
+        }
+    }
+
+    /**
+     * Binds the request's counter to the MVC task executor thread that runs an async handler result
+     * (StreamingResponseBody is run as a Callable), for as long as it runs.
+     */
+    @Component
+    static class AsyncWork implements WebMvcConfigurer, CallableProcessingInterceptor {
+
+        @Override
+        public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+            configurer.registerCallableInterceptors(this);
+        }
+
+        @Override
+        public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+            if (request.getAttribute(COUNTER, RequestAttributes.SCOPE_REQUEST) instanceof AtomicInteger counter) {
+                SqlStatementCounter.bind(counter);
+            }
+        }
+
+        @Override
+        public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object result) {
+            SqlStatementCounter.clear();
+        }
+    }
+
+    /**
+     * Adds the statement count header to every controller response body (including error bodies from
+     * GlobalExceptionHandler), at the last moment before the headers are committed.
+     */
+    @ControllerAdvice
+    static class Header implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                Class<? extends HttpMessageConverter<?>> converterType, ServerHttpRequest request,
+                ServerHttpResponse response) {
+            response.getHeaders().set(HEADER, Integer.toString(SqlStatementCounter.current()));
+            return body;
+        }
+    }
+}
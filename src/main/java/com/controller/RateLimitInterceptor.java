@@ -0,0 +1,124 @@
+package com.controller;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.cache.RateLimiter;
+import com.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-client rate limiting of the API (app.rate-limit), once the handler is known and before it runs.
+ *
+ * Each client has a token bucket per endpoint (RateLimiter): GET/HEAD/OPTIONS use the read budget, everything
+ * else the smaller write budget. A client out of tokens gets 429 with Retry-After, before any controller or
+ * database work. Only /api/** is limited (not actuator or API docs).
+ * The endpoint is the method and the matched mapping (e.g. "GET /api/blogs/{id}"), not the raw URI: the same
+ * handler is reached through ;matrix=params, percent-encoding, "+1" or "0x1" IDs and so on, and each spelling
+ * of the URI must not get a fresh bucket. Paths no mapping matches share the static-resource pattern ("/**").
+ * The client is the remote address, or the first value of app.rate-limit.client-header when set
+ * (only behind a proxy that sets that header, since clients could send any value).
+ *
+ * Metrics: app.http.rate-limited (tag budget) counts rejected requests; app.http.rate-limit.buckets is the
+ * number of buckets held.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final Set<String> METHODS = Set.of(
+            "GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
+    private final RateLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final String clientHeader;
+    private final Map<RateLimiter.Budget, Counter> rejected = new EnumMap<>(RateLimiter.Budget.class);
+
+    public RateLimitInterceptor(RateLimiter limiter, ObjectMapper objectMapper, MeterRegistry registry,
+            @Value("${app.rate-limit.client-header:}") String clientHeader) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.clientHeader = clientHeader.isBlank() ? null : clientHeader;
+        for (RateLimiter.Budget budget : RateLimiter.Budget.values()) {
+            rejected.put(budget, Counter.builder("app.http.rate-limited")
+                    .description("Requests rejected with 429 by the per-client rate limit")
+                    .tag("budget", budget.name().toLowerCase())
+                    .register(registry));
+        }
+        Gauge.builder("app.http.rate-limit.buckets", limiter, RateLimiter::size)
+                .description("Token buckets held by the rate limiter")
+                .register(registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;  // Second dispatch of a streamed/async response; its token was taken on the first one
+        }
+        String method = request.getMethod();
+        RateLimiter.Budget budget = isRead(method) ? RateLimiter.Budget.READ : RateLimiter.Budget.WRITE;
+        long waitNanos = limiter.tryAcquire(client(request), endpoint(method, request), budget);
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        rejected.get(budget).increment();
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.of(
+                "Too many requests, retry in " + retryAfter + "s", HttpStatus.TOO_MANY_REQUESTS.value()));
+        return false;
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    // The matched mapping pattern (set by every handler mapping that can route /api/** requests); made-up
+    // methods share one key, since the static-resource handler only rejects them after the interceptors
+    private static String endpoint(String method, HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return (METHODS.contains(method) ? method : "OTHER") + ' ' + (pattern != null ? pattern : "/**");
+    }
+
+    // The configured header's first value (e.g. the original client in X-Forwarded-For), else the remote address
+    private String client(HttpServletRequest request) {
+        if (clientHeader != null) {
+            String value = request.getHeader(clientHeader);
+            if (value != null && !value.isBlank()) {
+                int comma = value.indexOf(',');
+                return (comma < 0 ? value : value.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
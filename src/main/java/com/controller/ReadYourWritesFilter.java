@@ -0,0 +1,81 @@
+package com.controller;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.config.ReadYourWrites;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Read-your-writes stickiness when reads go to a replica (app.datasource.replica.enabled).
+ *
+ * A write request (POST, PUT, PATCH, DELETE) is answered with a cookie holding the time until which the client's
+ * reads must come from the primary (app.datasource.replica.sticky-after-write). While a request carries an
+ * unexpired cookie, and for the write request itself, ReadYourWrites routes every transaction to the primary.
+ * Works for any instance behind a load balancer, since the state travels with the client.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "read-primary-until";  // Epoch millis
+
+    private final Duration stickiness;
+
+    public ReadYourWritesFilter(@Value("${app.datasource.replica.sticky-after-write:5s}") Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = isWrite(request.getMethod());
+        if (write) {
+            // Set before the body is written, so the response is not committed yet
+            Cookie cookie = new Cookie(COOKIE, Long.toString(System.currentTimeMillis() + stickiness.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, stickiness.toSeconds()));
+            response.addCookie(cookie);
+        }
+        if (write || stickyUntil(request) > System.currentTimeMillis()) {
+            ReadYourWrites.requirePrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    // Time from the client's stickiness cookie, or 0 if it has none (or an unreadable one)
+    private static long stickyUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException ex) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.dto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of a multi-get: the resources found, in request order, and the IDs that do not exist.
+ * A missing ID does not fail the request; it is listed in {@code missing} instead.
+ * @param items - Found resources, in the order their IDs were requested (a repeated ID appears once)
+ * @param missing - Requested IDs that do not exist, in request order
+ */
+public record BatchResult<T>(List<T> items, List<Long> missing) {
+
+    /**
+     * Orders lookup results by the requested IDs.
+     * @param ids - Distinct requested IDs, in request order
+     * @param found - What was found, by ID
+     */
+    public static <T> BatchResult<T> of(Collection<Long> ids, Map<Long, T> found) {
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            T item = found.get(id);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchResult<>(items, missing);
+    }
+}
@@ -1,5 +1,9 @@
 package com.dto;  // Package declaration
 
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.validation.constraints.NotBlank;  // Import for validation - ensures the field is not blank
 import jakarta.validation.constraints.Size;  // Import for validation - restricts field length
 
@@ -18,6 +22,25 @@ public class BlogDTO {
     @Size(min=3, max=200, message="Content must be between 3 and 200 characters")  // Limits content length
     private String content;
 
+    // Revision and last-change time, set by the server (ignored in request bodies)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
+    public BlogDTO() {
+    }
+
+    // Used by BlogRepository's constructor-expression queries, which select the columns without building an entity
+    public BlogDTO(Long id, String title, String content, Long version, Instant updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.content = content;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
     // Getter and Setter methods for id
     public Long getId() {
         return id;
@@ -44,4 +67,22 @@ public class BlogDTO {
     public void setContent(String content) {
         this.content = content;
     }
+
+    // Getter and Setter methods for version
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    // Getter and Setter methods for updatedAt
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -0,0 +1,30 @@
+package com.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Body of a partial blog update (PATCH): only the fields that are present are changed.
+ * Same limits as BlogDTO for the fields that are given.
+ * @param title - New title, or null to keep the current one
+ * @param content - New content, or null to keep the current one
+ */
+public record BlogPatch(
+        @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be Blank")
+        @Size(min = 3, max = 100, message = "Title must be between 3 and 100 characters")
+        String title,
+
+        @Pattern(regexp = "(?s).*\\S.*", message = "Content must not be blank")
+        @Size(min = 3, max = 200, message = "Content must be between 3 and 200 characters")
+        String content) {
+
+    // At least one field must be changed
+    @JsonIgnore
+    @AssertTrue(message = "Title or content must be given")
+    public boolean isChangingSomething() {
+        return title != null || content != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.dto;
+
+/**
+ * A blog's position in the "most discussed" ranking.
+ * @param id - Blog ID
+ * @param title - Blog title
+ * @param commentCount - Number of comments on the blog
+ */
+public record BlogRank(long id, String title, long commentCount) {
+
+    // Same count, different title (after the blog was edited)
+    public BlogRank withTitle(String newTitle) {
+        return new BlogRank(id, newTitle, commentCount);
+    }
+
+    // Same blog with more comments
+    public BlogRank plusComments(long added) {
+        return new BlogRank(id, title, commentCount + added);
+    }
+}
@@ -0,0 +1,24 @@
+package com.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Lightweight, read-only view of a blog used by list endpoints.
+ * Spring Data fills it from a projection query, so the full content column is never sent to the client
+ * and only a short excerpt of it leaves the database.
+ */
+@JsonPropertyOrder({ "id", "title", "contentLength", "commentCount", "excerpt" })  // Stable field order in responses
+public interface BlogSummary {
+
+    int EXCERPT_LENGTH = 160;  // Number of leading content characters included in the excerpt
+
+    Long getId();               // Unique identifier of the blog
+
+    String getTitle();          // Title of the blog
+
+    Integer getContentLength(); // Length of the full content in characters
+
+    Long getCommentCount();     // Number of comments posted on the blog
+
+    String getExcerpt();        // First EXCERPT_LENGTH characters of the content
+}
@@ -0,0 +1,59 @@
+package com.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a bulk create request.
+ * Results are returned in request order, so {@code index} matches the position of the item in the input.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)  // Omits id for rejected items and errors for created ones
+public class BulkItemResult {
+
+    public enum Status {
+        CREATED,  // Item was inserted; id holds its new ID
+        INVALID,  // Item failed validation or could not be parsed; it was skipped
+        FAILED    // Item was valid but its batch could not be written
+    }
+
+    private final int index;            // Position of the item in the request (0-based)
+    private final Status status;        // What happened to the item
+    private final Long id;              // Generated ID (CREATED only)
+    private final List<String> errors;  // "field|message" entries, same format as validation errors
+
+    private BulkItemResult(int index, Status status, Long id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static BulkItemResult invalid(int index, List<String> errors) {
+        return new BulkItemResult(index, Status.INVALID, null, errors);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, Status.FAILED, null, List.of(error));
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
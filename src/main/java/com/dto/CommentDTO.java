@@ -1,5 +1,9 @@
 package com.dto;
 
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -26,6 +30,25 @@ public class CommentDTO {
     @Size(min = 3, max = 200, message = "Comment must be between 3 and 200 characters")
     private String comment;
 
+    // Time the comment was written (set by the server, ignored in request bodies)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
+    // Default constructor used by Jackson when binding request bodies
+    public CommentDTO() {
+    }
+
+    /**
+     * Constructor used by JPQL constructor expressions ("select new com.dto.CommentDTO(...)"),
+     * so comment reads can skip building CommentEntity instances altogether.
+     */
+    public CommentDTO(Long id, Long blogId, String comment, Instant updatedAt) {
+        this.id = id;
+        this.blogId = blogId;
+        this.comment = comment;
+        this.updatedAt = updatedAt;
+    }
+
     // Getter method for retrieving the comment ID
     public Long getId() {
         return id; 
@@ -55,4 +78,14 @@ public class CommentDTO {
     public void setComment(String comment) {
         this.comment = comment;
     }
+
+    // Getter method for retrieving the time the comment was written
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // Setter method for setting the time the comment was written
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
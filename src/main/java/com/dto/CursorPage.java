@@ -0,0 +1,59 @@
+package com.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import com.exceptions.BadRequestException;
+
+/**
+ * One page of a keyset-paginated listing.
+ * The next cursor is an opaque token wrapping the last returned ID; it is null on the last page.
+ *
+ * @param <T> Type of the items on the page
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;      // Items on this page, in ascending ID order
+    private final String nextCursor;  // Token to pass as ?cursor= for the following page
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * ✅ Encode the last ID of a page into an opaque cursor token.
+     * @param lastId ID of the last item on the page.
+     * @return URL-safe cursor token.
+     */
+    public static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * ✅ Decode a cursor token back into the ID to continue after.
+     * @param cursor Token from a previous page, or null for the first page.
+     * @return The ID to continue after (0 for the first page).
+     * @throws BadRequestException if the token is malformed.
+     */
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException ex) {  // Covers both bad Base64 and NumberFormatException
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
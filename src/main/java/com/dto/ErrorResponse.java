@@ -0,0 +1,15 @@
+package com.dto;
+
+/**
+ * Body of every error response built by GlobalExceptionHandler: {"error":true,"message":...,"status":...}.
+ * A record instead of a Map, so Jackson writes three fixed fields without building and walking a HashMap.
+ * @param error - Always true
+ * @param message - What went wrong
+ * @param status - The HTTP status code, repeated for clients that only look at the body
+ */
+public record ErrorResponse(boolean error, String message, int status) {
+
+    public static ErrorResponse of(String message, int status) {
+        return new ErrorResponse(true, message, status);
+    }
+}
@@ -0,0 +1,12 @@
+package com.dto;
+
+import java.time.Instant;
+
+/**
+ * Revision of a resource, used to build ETag and Last-Modified headers.
+ *
+ * @param version   Changes whenever the resource changes (blog version, comment ID, or thread version)
+ * @param updatedAt Time of the last change, or null if unknown
+ */
+public record ResourceStamp(Long version, Instant updatedAt) {
+}
@@ -0,0 +1,8 @@
+package com.dto;
+
+/**
+ * One search result: the blog's ID and title, and its BM25 relevance score.
+ * The full blog is available from GET /api/blogs/{id}.
+ */
+public record SearchHit(long id, String title, double score) {
+}
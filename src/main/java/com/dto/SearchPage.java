@@ -0,0 +1,13 @@
+package com.dto;
+
+import java.util.List;
+
+/**
+ * One page of search results, best match first.
+ * @param total - Number of blogs matching the query
+ * @param page - Zero-based page number
+ * @param size - Page size
+ * @param hits - Results on this page
+ */
+public record SearchPage(long total, int page, int size, List<SearchHit> hits) {
+}
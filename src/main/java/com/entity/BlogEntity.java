@@ -1,23 +1,33 @@
 package com.entity;
 
+import java.time.Instant;
 import java.util.List;
 
+import org.hibernate.annotations.SQLRestriction;
+
 import jakarta.persistence.*;  // Importing JPA annotations for Entity, Table, etc.
 import jakarta.validation.constraints.NotNull; // Importing validation annotations
 
 /**
  * Represents a Blog entity in the database.
  * This entity is mapped to the "blogs" table and has a one-to-many relationship with comments.
+ * Rows hidden for a background purge (deleted_at set) are left out of every entity load and JPQL query.
  */
 @Entity  // Marks this class as a JPA entity (a table in the database)
-@Table(name = "blogs")  // Maps this entity to the "blogs" table
+@SQLRestriction("deleted_at is null")  // ✅ A blog being purged in the background is gone for readers at once
+@Table(name = "blogs",  // Maps this entity to the "blogs" table
+        indexes = @Index(name = "idx_blogs_comment_count", columnList = "comment_count DESC, blog_id"))  // "Most discussed" ranking reads this index in order
 public class BlogEntity {
 
     /** 
      * The primary key for the Blog table. It is auto-generated.
+     * IDs come from the "blogs" row of the id_blocks table in blocks of 50 (pooled-lo optimizer),
+     * so Hibernate knows them before the INSERT and can send inserts as JDBC batches.
      */
     @Id  // Marks this field as the primary key
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-increment primary key
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "blog_ids") // Block-allocated primary key
+    @TableGenerator(name = "blog_ids", table = "id_blocks", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "blogs", allocationSize = 50)
     @Column(name = "blog_id") // Maps to the "blog_id" column in the database
     private Long id;
 
@@ -29,19 +39,88 @@ public class BlogEntity {
 
     /** 
      * Content of the blog post. Cannot be null.
+     * Lazy (bytecode enhancement, see hibernate-enhance-maven-plugin in pom.xml): loading a BlogEntity for an
+     * update, a version check or a comment does not read the body. Reads that need it select a BlogDTO
+     * (BlogRepository.findDtoById and friends), and GET /api/blogs/{id}/content streams it.
      */
     @NotNull
+    @Basic(fetch = FetchType.LAZY)  // ✅ Fetched only on first getContent() (one extra SELECT), never with the row
     private String content;
 
+    /**
+     * Revision number of the blog, incremented on every update.
+     * Used (with updatedAt) to build ETags, so a conditional GET can be answered from this column alone.
+     * Also the optimistic lock: Hibernate updates the row only if the version is still the one it read,
+     * and the single-statement updates in BlogRepository check it the same way.
+     */
+    @Version  // ✅ Optimistic locking; Hibernate increments it on every entity update
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * Time of the last create or update. Sent as Last-Modified.
+     */
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /**
+     * Number of comments on the blog, so counts and rankings never have to COUNT(*) the comments table.
+     * Incremented by UPDATEs only, in the same transaction as the comment inserts (single posts, bulk and
+     * write-behind), unless app.comments.count-flush-interval opts in to CommentCountBuffer's batched flush
+     * for single posts (the count then trails by up to that interval).
+     * updatable = false keeps entity saves (e.g. updateBlog) from writing back a stale value.
+     * Null only for rows created before the column existed, until CommentCountBackfill fills them in at startup.
+     */
+    @Column(name = "comment_count", updatable = false)
+    private Long commentCount;
+
+    /**
+     * Revision of the blog's comment thread, incremented by the same UPDATE that adds to comment_count.
+     * Comment IDs come in blocks and concurrent posts commit out of ID order, so the newest comment ID does not
+     * change with every commit; this counter does. Thread ETags (and the pages cached under them) use it.
+     * updatable = false for the same reason as comment_count. Null only for rows created before the column
+     * existed, until CommentCountBackfill (or migration V3) fills them in.
+     */
+    @Column(name = "comments_version", updatable = false)
+    private Long commentsVersion;
+
+    /**
+     * Time of the last comment change of the thread. Sent as Last-Modified with the thread ETag.
+     */
+    @Column(name = "comments_updated_at", updatable = false)
+    private Instant commentsUpdatedAt;
+
+    /**
+     * Set when a background purge starts (BlogRepository.hideById); null for every visible blog.
+     * Only native queries see rows where it is set, and the purge deletes them at the end. Never read through
+     * the entity; mapped so that ddl-auto creates the column too.
+     */
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private Instant deletedAt;
+
     /**
      * One-to-Many relationship with CommentEntity.
      * - `mappedBy = "blog"`: The "blog" field in CommentEntity manages the relationship.
-     * - `cascade = CascadeType.ALL`: Deleting a blog will delete all its comments.
+     * - No cascade: a cascaded remove would load every comment and delete them one row at a time.
+     *   Blogs are deleted by BlogPurger with bulk DELETE statements (comments first, then the blog).
      * - `fetch = FetchType.LAZY`: Comments are **not** loaded automatically with the blog (loaded only when needed).
      */
-    @OneToMany(mappedBy = "blog", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "blog", fetch = FetchType.LAZY)
     private List<CommentEntity> comments;
 
+    // ✅ Keeps updatedAt current on every write (version is maintained by @Version)
+    @PrePersist
+    void onCreate() {
+        updatedAt = Instant.now();
+        commentCount = 0L;
+        commentsVersion = 0L;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
     // ✅ Getters and Setters (Used to access and modify fields)
 
     public Long getId() {
@@ -68,6 +147,26 @@ public class BlogEntity {
         this.content = content;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getCommentCount() {
+        return commentCount;
+    }
+
+    public Long getCommentsVersion() {
+        return commentsVersion;
+    }
+
+    public Instant getCommentsUpdatedAt() {
+        return commentsUpdatedAt;
+    }
+
     public List<CommentEntity> getComments() {
         return comments;
     }
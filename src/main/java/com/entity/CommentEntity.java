@@ -1,5 +1,10 @@
 package com.entity;
 
+import java.time.Instant;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
 import jakarta.persistence.*;  // Imports JPA annotations
 import jakarta.validation.constraints.NotNull;  // Import for validation
 
@@ -8,15 +13,19 @@ import jakarta.validation.constraints.NotNull;  // Import for validation
  * This class maps to the "comments" table in the database.
  */
 @Entity
-@Table(name = "comments") // Specifies that this class maps to the "comments" table
+@Table(name = "comments", // Specifies that this class maps to the "comments" table
+       indexes = @Index(name = "idx_comments_blog_comment", columnList = "blog, comment_id")) // Serves keyset pages per blog
 public class CommentEntity {
 
     /**
      * Unique identifier for each comment.
-     * This field is auto-generated using IDENTITY strategy.
+     * This field is allocated in blocks from the "comments" row of the id_blocks table,
+     * which (unlike IDENTITY) lets Hibernate batch comment inserts.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-incremented primary key
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_ids") // Block-allocated primary key
+    @TableGenerator(name = "comment_ids", table = "id_blocks", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "comments", allocationSize = 50)
     @Column(name = "comment_id") // Column name in the database
     private Long id;
 
@@ -31,11 +40,28 @@ public class CommentEntity {
      * Relationship with the BlogEntity.
      * Many comments can be linked to one blog (Many-to-One relationship).
      * This creates a foreign key "blog" in the comments table.
+     * Loaded lazily: reading getBlog().getId() uses the foreign key value without querying the blogs table.
+     * ON DELETE CASCADE on the foreign key (for schemas created from now on) lets MySQL remove the comments
+     * of a deleted blog itself; BlogPurger deletes them explicitly anyway, so existing schemas behave the same.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     @JoinColumn(name = "blog", nullable = false) // Foreign key column in "comments" table
     private BlogEntity blog;
 
+    /**
+     * Time the comment was written. Comments are never edited, so this is also the time of the
+     * last change, and is sent as Last-Modified.
+     */
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /** Sets updatedAt when the comment is first saved */
+    @PrePersist
+    void onCreate() {
+        updatedAt = Instant.now();
+    }
+
     /** Getter method for comment ID */
     public Long getId() {
         return id;
@@ -65,4 +91,9 @@ public class CommentEntity {
     public void setBlog(BlogEntity blog) {
         this.blog = blog;
     }
+
+    /** Getter method for the time of the last change */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
 }
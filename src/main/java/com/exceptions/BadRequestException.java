@@ -0,0 +1,22 @@
+package com.exceptions;  // ✅ Defines the package where the class is stored
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception class for malformed client input that bean validation cannot catch
+ * (e.g., an unparseable pagination cursor).
+ * Only the message is ever reported, so no stack trace is recorded.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)  // ✅ Sets the HTTP status to 400 when this exception is thrown
+public class BadRequestException extends RuntimeException {
+
+    /**
+     * Constructor that accepts a custom message.
+     *
+     * @param message Error message describing the invalid input
+     */
+    public BadRequestException(String message) {
+        super(message, null, false, false);  // ✅ Stackless
+    }
+}
@@ -0,0 +1,22 @@
+package com.exceptions;  // ✅ Defines the package where the class is stored
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception class for writes that lost a race (e.g., the blog was updated since the client read it,
+ * so the version named in If-Match is no longer current).
+ * The client should reload the resource and retry. Only the message is reported, so no stack trace is recorded.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)  // ✅ Sets the HTTP status to 409 when this exception is thrown
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Constructor that accepts a custom message.
+     *
+     * @param message Error message describing the conflicting change
+     */
+    public ConflictException(String message) {
+        super(message, null, false, false);  // ✅ Stackless
+    }
+}
@@ -1,17 +1,21 @@
 package com.exceptions;  // Declares that this class belongs to the 'com.exceptions' package.
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.dto.ErrorResponse;
+
 import jakarta.validation.ConstraintViolationException;
 
 @RestControllerAdvice  // ✅ Global exception handler for all REST controllers.
@@ -33,17 +37,64 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(details, HttpStatus.BAD_REQUEST);
     }
 
+    // ✅ Prebuilt body for database unavailability: the same for every shed request, so it is shared
+    private static final ErrorResponse DATABASE_UNAVAILABLE =
+            ErrorResponse.of("Service temporarily unavailable, please retry", HttpStatus.SERVICE_UNAVAILABLE.value());
+
     // ✅ Handles Resource Not Found errors (e.g., when an entity is missing in the database).
     @ExceptionHandler(ResourceNotFoundException.class)  // Triggers when a requested resource is not found.
-    public ResponseEntity<Map<String, Object>> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        Map<String, Object> response = new HashMap<>(); // Creates a map to structure the error response.
-        
-        response.put("error", true);                    // Indicates an error occurred.
-        response.put("message", ex.getMessage());       // Includes the custom error message.
-        response.put("status", HttpStatus.NOT_FOUND.value());  // Sets the HTTP status code (404).
-
-        // Returns a NOT_FOUND (404) response with structured JSON.
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        // Returns a NOT_FOUND (404) response: {"error":true,"message":...,"status":404}
+        return new ResponseEntity<>(ErrorResponse.of(ex.getMessage(), HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
+    }
+
+    // ✅ Handles Bad Request errors (e.g., a malformed pagination cursor).
+    @ExceptionHandler(BadRequestException.class)  // Triggers when client input cannot be interpreted.
+    public ResponseEntity<ErrorResponse> handleBadRequestException(BadRequestException ex) {
+        // Returns a BAD_REQUEST (400) response with the same JSON shape as a 404.
+        return new ResponseEntity<>(ErrorResponse.of(ex.getMessage(), HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+    }
+
+    // ✅ Handles lost update races (e.g., If-Match names an old blog version) with 409.
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex) {
+        return new ResponseEntity<>(ErrorResponse.of(ex.getMessage(), HttpStatus.CONFLICT.value()), HttpStatus.CONFLICT);
+    }
+
+    // ✅ Prebuilt body for a Hibernate @Version check that failed between reading and writing an entity
+    private static final ErrorResponse CONCURRENT_UPDATE =
+            ErrorResponse.of("The resource was changed by another request, reload it and retry", HttpStatus.CONFLICT.value());
+
+    // ✅ Handles optimistic locking failures of entity updates with the same 409 shape.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return new ResponseEntity<>(CONCURRENT_UPDATE, HttpStatus.CONFLICT);
+    }
+
+    // ✅ Handles "no database connection available" (JDBC admission gate full, pool timeout, database down).
+    // The request is shed with 503 so clients back off instead of piling up behind a slow database.
+    @ExceptionHandler({ CannotCreateTransactionException.class, DataAccessResourceFailureException.class })
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailable(RuntimeException ex) {
+        // Returns a SERVICE_UNAVAILABLE (503) response; Retry-After is in seconds.
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(DATABASE_UNAVAILABLE);
+    }
+
+    // ✅ Handles requests that cannot be served yet (e.g., search index still loading), with the same 503 shape.
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
+    // ✅ Handles backpressure rejections (e.g., comment write queue full) with 429 and a Retry-After hint.
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS.value()));
     }
 
     // ✅ Handles Constraint Violations (e.g., invalid query parameters).
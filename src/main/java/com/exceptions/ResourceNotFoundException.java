@@ -6,6 +6,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 /**
  * Custom exception class to handle "Resource Not Found" scenarios.
  * This exception is thrown when an entity (e.g., blog, comment) does not exist in the database.
+ * 404s are one of the most frequent responses (scrapers probing IDs), and the exception only carries
+ * the message to GlobalExceptionHandler, so it is created without a stack trace.
  */
 @ResponseStatus(HttpStatus.NOT_FOUND)  // ✅ Sets the HTTP status to 404 when this exception is thrown
 public class ResourceNotFoundException extends RuntimeException {  // ✅ Extends RuntimeException for unchecked exceptions
@@ -16,6 +18,6 @@ public class ResourceNotFoundException extends RuntimeException {  // ✅ Extend
      * @param message Error message describing the missing resource
      */
     public ResourceNotFoundException(String message) {
-        super(message);  // ✅ Calls the parent class (RuntimeException) constructor with a custom message
+        super(message, null, false, false);  // ✅ No cause, no suppressed exceptions, no stack trace (filling it in is most of the cost of a throw)
     }
 }
@@ -0,0 +1,22 @@
+package com.exceptions;  // ✅ Defines the package where the class is stored
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception class for requests that cannot be served right now but may succeed on retry
+ * (e.g., the search index is still being built at startup).
+ * Thrown in bulk while the service is overloaded or warming up, so no stack trace is recorded.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)  // ✅ Sets the HTTP status to 503 when this exception is thrown
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructor that accepts a custom message.
+     *
+     * @param message Error message describing why the request cannot be served
+     */
+    public ServiceUnavailableException(String message) {
+        super(message, null, false, false);  // ✅ Stackless
+    }
+}
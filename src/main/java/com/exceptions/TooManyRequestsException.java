@@ -0,0 +1,22 @@
+package com.exceptions;  // ✅ Defines the package where the class is stored
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception class for requests rejected by backpressure (e.g., the comment write queue is full).
+ * The client should retry after a short pause.
+ * Thrown in bulk exactly when the service is overloaded, so no stack trace is recorded.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)  // ✅ Sets the HTTP status to 429 when this exception is thrown
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * Constructor that accepts a custom message.
+     *
+     * @param message Error message describing why the request was rejected
+     */
+    public TooManyRequestsException(String message) {
+        super(message, null, false, false);  // ✅ Stackless
+    }
+}
@@ -1,12 +1,27 @@
 package com.repository;  // Defines the package location for this interface
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;  // Importing Optional for handling nullable return values
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;  // Importing JpaRepository for CRUD operations
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.dto.BlogDTO;  // Importing BlogDTO (Data Transfer Object)
+import com.dto.BlogRank;
+import com.dto.BlogSummary;
+import com.dto.ResourceStamp;
 import com.entity.BlogEntity;  // Importing BlogEntity (Represents the Blog table in DB)
 
+import jakarta.persistence.QueryHint;
 import jakarta.validation.Valid;  // Importing validation support for input validation
 
 /**
@@ -23,5 +38,200 @@ public interface BlogRepository extends JpaRepository<BlogEntity, Long> {
     
     // ✅ If needed, we can define custom query methods here
     // Example: Optional<BlogEntity> findByTitle(String title);
-    
+
+    // Selects a BlogDTO straight from the columns (content included), without building an entity
+    String BLOG_DTO = "select new com.dto.BlogDTO(b.id, b.title, b.content, b.version, b.updatedAt) from BlogEntity b ";
+
+    /**
+     * A blog with its content, read in one query.
+     * BlogEntity.content is lazy, so findById followed by getContent() would take two.
+     *
+     * @param id The blog ID.
+     * @return The blog, or empty if it does not exist.
+     */
+    @Query(BLOG_DTO + "where b.id = :id")
+    Optional<BlogDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * Several blogs by ID with one IN query (multi-get), content included.
+     *
+     * @param ids The blog IDs.
+     * @return The blogs that exist, in no particular order.
+     */
+    @Query(BLOG_DTO + "where b.id in :ids")
+    List<BlogDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset pagination: fetches the next page of blogs after the given ID.
+     * Uses the primary key index, so the cost does not grow with the page number like OFFSET does.
+     *
+     * @param id    The last blog ID of the previous page (0 for the first page).
+     * @param limit Maximum number of rows to return.
+     * @return Blogs with an ID greater than {@code id}, in ascending ID order.
+     */
+    @Query(BLOG_DTO + "where b.id > :id order by b.id")
+    List<BlogDTO> findDtosAfter(@Param("id") Long id, Limit limit);
+
+    /**
+     * Streams every blog in ID order without materializing the result list.
+     * With useCursorFetch=true on the JDBC URL, MySQL Connector/J pulls rows in fetch-size chunks
+     * from a server-side cursor instead of buffering the whole result set.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return A lazily populated stream of blogs.
+     */
+    @Query(BLOG_DTO + "order by b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<BlogDTO> streamAllOrderById();
+
+    /**
+     * Keyset pagination over blog summaries.
+     * Only the title, the content length, the stored comment count and an excerpt are selected,
+     * so the full content never leaves MySQL and the comments table is not touched.
+     *
+     * @param afterId The last blog ID of the previous page (0 for the first page).
+     * @param limit   Maximum number of rows to return.
+     * @return Blog summaries with an ID greater than {@code afterId}, in ascending ID order.
+     */
+    @Query("select b.id as id, b.title as title, length(b.content) as contentLength, "
+            + "b.commentCount as commentCount, substring(b.content, 1, " + BlogSummary.EXCERPT_LENGTH + ") as excerpt "
+            + "from BlogEntity b where b.id > :afterId order by b.id")
+    List<BlogSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Revision stamp of a blog (version and last-change time) for conditional GETs.
+     * A primary key lookup that does not build an entity or transfer the content to the application.
+     *
+     * @param id The blog ID.
+     * @return The stamp, or empty if the blog does not exist.
+     */
+    @Query("select new com.dto.ResourceStamp(b.version, b.updatedAt) from BlogEntity b where b.id = :id")
+    Optional<ResourceStamp> findStampById(@Param("id") Long id);
+
+    /**
+     * Revision stamp of a blog's comment thread (comments_version and the time of the last comment change).
+     * A primary key lookup like findStampById.
+     *
+     * @param id The blog ID.
+     * @return The stamp, or empty if the blog does not exist.
+     */
+    @Query("select new com.dto.ResourceStamp(b.commentsVersion, b.commentsUpdatedAt) from BlogEntity b where b.id = :id")
+    Optional<ResourceStamp> findThreadStampById(@Param("id") Long id);
+
+    /**
+     * Adds to a blog's comment count and bumps its thread version with one UPDATE (no read-modify-write, so
+     * concurrent posters do not lose counts, and every commit changes the thread version whatever the comment IDs).
+     * Must run in the transaction that inserts the comments. The row count doubles as an existence check.
+     *
+     * @param id    The blog ID.
+     * @param delta Number of comments added.
+     * @param now   Time of the change (the thread's Last-Modified).
+     * @return 1 if the blog exists, 0 otherwise.
+     */
+    @Modifying
+    @Query("update BlogEntity b set b.commentCount = b.commentCount + :delta, b.commentsVersion = b.commentsVersion + 1, "
+            + "b.commentsUpdatedAt = :now where b.id = :id")
+    int addToCommentCount(@Param("id") Long id, @Param("delta") long delta, @Param("now") Instant now);
+
+    /**
+     * Replaces title and content with one UPDATE, only if the blog is still at the expected version
+     * (optimistic locking without loading the entity first). Bumps the version like an entity update would.
+     *
+     * @param id        The blog ID.
+     * @param title     The new title.
+     * @param content   The new content.
+     * @param version   The version the client last saw (from If-Match).
+     * @param updatedAt The time of the change.
+     * @return 1 if updated, 0 if the blog does not exist or is at another version.
+     */
+    @Transactional
+    @Modifying
+    @Query("update BlogEntity b set b.title = :title, b.content = :content, b.version = b.version + 1, "
+            + "b.updatedAt = :updatedAt where b.id = :id and b.version = :version")
+    int updateIfVersion(@Param("id") Long id, @Param("title") String title, @Param("content") String content,
+            @Param("version") long version, @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Partial update with one UPDATE: null fields keep their current value.
+     *
+     * @param id        The blog ID.
+     * @param title     The new title, or null.
+     * @param content   The new content, or null.
+     * @param updatedAt The time of the change.
+     * @return 1 if updated, 0 if the blog does not exist.
+     */
+    @Transactional
+    @Modifying
+    @Query("update BlogEntity b set b.title = coalesce(:title, b.title), b.content = coalesce(:content, b.content), "
+            + "b.version = b.version + 1, b.updatedAt = :updatedAt where b.id = :id")
+    int patch(@Param("id") Long id, @Param("title") String title, @Param("content") String content,
+            @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Partial update with one UPDATE, only if the blog is still at the expected version.
+     *
+     * @param id        The blog ID.
+     * @param title     The new title, or null.
+     * @param content   The new content, or null.
+     * @param version   The version the client last saw (from If-Match).
+     * @param updatedAt The time of the change.
+     * @return 1 if updated, 0 if the blog does not exist or is at another version.
+     */
+    @Transactional
+    @Modifying
+    @Query("update BlogEntity b set b.title = coalesce(:title, b.title), b.content = coalesce(:content, b.content), "
+            + "b.version = b.version + 1, b.updatedAt = :updatedAt where b.id = :id and b.version = :version")
+    int patchIfVersion(@Param("id") Long id, @Param("title") String title, @Param("content") String content,
+            @Param("version") long version, @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Stored comment count of a blog (0 for rows not yet backfilled), without loading the entity.
+     * Native, so blogs hidden for a background purge are counted too (BlogPurger resumes those).
+     *
+     * @param id The blog ID.
+     * @return The count, or empty if the blog does not exist.
+     */
+    @Query(value = "select coalesce(comment_count, 0) from blogs where blog_id = :id", nativeQuery = true)
+    Optional<Long> findCommentCountById(@Param("id") Long id);
+
+    /**
+     * Hides a blog from every read before a background purge (sets deleted_at, see BlogEntity), keeping the
+     * time it was first hidden. Native, so it also matches a blog that is already hidden. Must run in a transaction.
+     *
+     * @param id  The blog ID.
+     * @param now Time of the delete request.
+     * @return 1 if the blog exists (hidden now or before), 0 if not.
+     */
+    @Modifying
+    @Query(value = "update blogs set deleted_at = coalesce(deleted_at, :now) where blog_id = :id", nativeQuery = true)
+    int hideById(@Param("id") Long id, @Param("now") Instant now);
+
+    /**
+     * Blogs hidden by a background purge that has not finished (cut short by a shutdown or a database error).
+     */
+    @Query(value = "select blog_id from blogs where deleted_at is not null", nativeQuery = true)
+    List<Long> findHiddenIds();
+
+    /**
+     * Deletes a blog row with one DELETE statement, without loading it (and without cascading:
+     * its comments must be deleted first, see CommentRepository.deleteAllByBlogId). Must run in a transaction.
+     * Native, so it also deletes a hidden blog.
+     *
+     * @param id The blog ID.
+     * @return 1 if deleted, 0 if the blog does not exist.
+     */
+    @Modifying
+    @Query(value = "delete from blogs where blog_id = :id", nativeQuery = true)
+    int deleteRowById(@Param("id") Long id);
+
+    /**
+     * Blogs with the most comments, most commented first (ties: lower ID first).
+     * Reads the idx_blogs_comment_count index in order and stops after {@code limit} rows.
+     *
+     * @param limit Maximum number of rows to return.
+     * @return Ranked blogs that have at least one comment.
+     */
+    @Query("select new com.dto.BlogRank(b.id, b.title, b.commentCount) from BlogEntity b "
+            + "where b.commentCount > 0 order by b.commentCount desc, b.id")
+    List<BlogRank> findMostDiscussed(Limit limit);
 }
@@ -1,9 +1,24 @@
 package com.repository; // Package where the repository is located
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.dto.CommentDTO;
+import com.dto.ResourceStamp;
 import com.entity.CommentEntity;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for CommentEntity.
  * It extends JpaRepository to provide built-in CRUD operations.
@@ -18,4 +33,111 @@ public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
      * @return List of comments belonging to the specified blog.
      */
     List<CommentEntity> findByBlogId(Long blogId);
+
+    /**
+     * Reads all comments of a blog as DTOs and checks that the blog exists, in a single SQL statement.
+     * The blog is left-joined to its comments, so:
+     * - no rows                         → the blog does not exist;
+     * - one row with a null comment ID  → the blog exists but has no comments;
+     * - otherwise                       → one row per comment, in ascending comment ID order.
+     * The blog ID is read from the join, so no BlogEntity (or its content) is ever loaded.
+     *
+     * @param blogId The ID of the blog whose comments are to be fetched.
+     * @return Comment rows as described above.
+     */
+    @Query("select new com.dto.CommentDTO(c.id, b.id, c.comment, c.updatedAt) "
+            + "from BlogEntity b left join b.comments c where b.id = :blogId order by c.id")
+    List<CommentDTO> findCommentRowsByBlogId(@Param("blogId") Long blogId);
+
+    /**
+     * Keyset page of a blog's comments, with the same single-statement existence check as
+     * {@link #findCommentRowsByBlogId(Long)}. Served by the (blog, comment_id) index.
+     *
+     * @param blogId  The ID of the blog.
+     * @param afterId The last comment ID of the previous page (0 for the first page).
+     * @param limit   Maximum number of rows to return.
+     * @return Comment rows after {@code afterId} in ascending ID order, or a single null-ID row
+     *         if the blog exists but has no more comments, or no rows if the blog does not exist.
+     */
+    @Query("select new com.dto.CommentDTO(c.id, b.id, c.comment, c.updatedAt) "
+            + "from BlogEntity b left join b.comments c on c.id > :afterId "
+            + "where b.id = :blogId order by c.id")
+    List<CommentDTO> findCommentRowsAfter(@Param("blogId") Long blogId, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * "Latest N" fast path: walks the (blog, comment_id) index backwards and stops after {@code limit} rows.
+     * Same row semantics as {@link #findCommentRowsAfter(Long, Long, Limit)}, but newest first.
+     *
+     * @param blogId The ID of the blog.
+     * @param limit  Number of most recent comments to return.
+     * @return The newest comment rows in descending ID order.
+     */
+    @Query("select new com.dto.CommentDTO(c.id, b.id, c.comment, c.updatedAt) "
+            + "from BlogEntity b left join b.comments c where b.id = :blogId order by c.id desc")
+    List<CommentDTO> findLatestCommentRows(@Param("blogId") Long blogId, Limit limit);
+
+    /**
+     * Streams all comments of a blog in ascending ID order without materializing the list.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @param blogId The ID of the blog.
+     * @return A lazily populated stream of comment DTOs.
+     */
+    @Query("select new com.dto.CommentDTO(c.id, c.blog.id, c.comment, c.updatedAt) "
+            + "from CommentEntity c where c.blog.id = :blogId order by c.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<CommentDTO> streamByBlogId(@Param("blogId") Long blogId);
+
+    /**
+     * Several comments by ID with one IN query (multi-get). The blog ID is the foreign key column, so no join.
+     *
+     * @param ids The comment IDs.
+     * @return The comments that exist, in no particular order.
+     */
+    @Query("select new com.dto.CommentDTO(c.id, c.blog.id, c.comment, c.updatedAt) from CommentEntity c where c.id in :ids")
+    List<CommentDTO> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Revision stamp of a single comment, for conditional GETs that miss the cache.
+     * Comments are never edited, so the comment ID serves as the version.
+     *
+     * @param id The comment ID.
+     * @return The stamp, or empty if the comment does not exist.
+     */
+    @Query("select new com.dto.ResourceStamp(c.id, c.updatedAt) from CommentEntity c where c.id = :id")
+    Optional<ResourceStamp> findStampById(@Param("id") Long id);
+
+    /**
+     * Deletes every comment of a blog with one DELETE statement (no entities are loaded).
+     * Must run in a transaction.
+     *
+     * @param blogId The ID of the blog.
+     * @return Number of comments deleted.
+     */
+    @Modifying
+    @Query("delete from CommentEntity c where c.blog.id = :blogId")
+    int deleteAllByBlogId(@Param("blogId") Long blogId);
+
+    /**
+     * IDs of a blog's oldest comments, read from the (blog, comment_id) index; used to purge a thread in chunks.
+     *
+     * @param blogId The ID of the blog.
+     * @param limit  Maximum number of IDs to return.
+     * @return Comment IDs in ascending order.
+     */
+    @Query("select c.id from CommentEntity c where c.blog.id = :blogId order by c.id")
+    List<Long> findIdsByBlogId(@Param("blogId") Long blogId, Limit limit);
+
+    /**
+     * Deletes the given comments with one DELETE statement. Must run in a transaction.
+     *
+     * @param ids Comment IDs.
+     * @return Number of comments deleted.
+     */
+    @Modifying
+    @Query("delete from CommentEntity c where c.id in :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
 }
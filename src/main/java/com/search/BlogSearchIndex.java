@@ -0,0 +1,315 @@
+package com.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.dto.SearchHit;
+import com.dto.SearchPage;
+import com.exceptions.ServiceUnavailableException;
+
+/**
+ * In-memory inverted index over blog titles and contents, ranked with BM25.
+ *
+ * - Term dictionary: sorted map term → PostingList, so prefix queries are a range scan.
+ * - Postings are primitive arrays (blog ID, term frequency, blog length), no per-posting objects.
+ * - Title terms count TITLE_WEIGHT times, so a match in the title ranks above one in the body.
+ * - Searches share a read lock; index/remove take the write lock for the time of one blog.
+ *
+ * Filled at startup by SearchIndexLoader and kept current by BlogService and BulkIngestService.
+ * Searches never touch the database.
+ */
+@Component
+public class BlogSearchIndex {
+
+    static final double K1 = 1.2;  // BM25 term frequency saturation
+    static final double B = 0.75;  // BM25 length normalization
+    static final int TITLE_WEIGHT = 2;
+    static final int MAX_PREFIX_TERMS = 50;  // Completions of the last query word that are scored (most common first)
+
+    // What is indexed per blog: needed to return titles and to remove the blog's postings later.
+    // Holds the shared posting lists rather than term strings, so the term text is stored once per index.
+    private record Document(String title, PostingList[] postings, int length) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, PostingList> dictionary = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    // Until the initial load finishes: blogs deleted meanwhile, so the loader does not bring them back
+    private Set<Long> removedWhileLoading = new HashSet<>();
+    private volatile boolean ready;
+
+    /**
+     * Adds a blog, or replaces what is indexed for it.
+     * @param id - Blog ID
+     * @param title - Blog title
+     * @param content - Blog content
+     */
+    public void index(long id, String title, String content) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = count(title, TITLE_WEIGHT, frequencies) + count(content, 1, frequencies);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            addLocked(id, title, frequencies, length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a blog from the index (no-op if it is not indexed).
+     * @param id - Blog ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (removedWhileLoading != null) {
+                removedWhileLoading.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a blog read by the initial load, unless it was indexed (newer) or deleted since the load started.
+     */
+    void load(long id, String title, String content) {
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = count(title, TITLE_WEIGHT, frequencies) + count(content, 1, frequencies);
+
+        lock.writeLock().lock();
+        try {
+            if (!documents.containsKey(id) && !removedWhileLoading.contains(id)) {
+                addLocked(id, title, frequencies, length);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Marks the initial load as done; searches are answered from now on
+    void finishLoading() {
+        lock.writeLock().lock();
+        try {
+            dictionary.values().forEach(PostingList::trim);
+            removedWhileLoading = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Number of indexed blogs
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks blogs against a free-text query.
+     * Every query word must match a term exactly, except the last one, which with prefix=true also
+     * matches terms it is a prefix of ("sprin" finds "spring"). Blogs matching any word are returned;
+     * blogs matching more (or rarer) words score higher.
+     * @param query - Free-text query
+     * @param prefix - Whether the last word is treated as a prefix
+     * @param page - Zero-based page number
+     * @param size - Page size
+     * @return The requested page of hits, best first
+     * @throws ServiceUnavailableException if the index is still being loaded
+     */
+    public SearchPage search(String query, boolean prefix, int page, int size) {
+        if (!ready) {
+            throw new ServiceUnavailableException("Search index is still loading, please retry");
+        }
+        List<String> words = Tokenizer.tokenize(query);
+        int wanted = (page + 1) * size;
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> postings = postingsFor(words, prefix);
+            if (postings.isEmpty()) {
+                return new SearchPage(0, page, size, List.of());
+            }
+            ScoreAccumulator scores = score(postings);
+            int[] top = topSlots(scores, wanted);
+
+            List<SearchHit> hits = new ArrayList<>(Math.max(0, top.length - page * size));
+            for (int i = page * size; i < top.length; i++) {
+                long id = scores.idAt(top[i]);
+                hits.add(new SearchHit(id, documents.get(id).title(), scores.scoreAt(top[i])));
+            }
+            return new SearchPage(scores.size(), page, size, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Posting lists of the query words; the last word expands to its most common completions
+    private List<PostingList> postingsFor(List<String> words, boolean prefix) {
+        Set<String> terms = new HashSet<>(words);
+        List<PostingList> postings = new ArrayList<>();
+        for (String term : terms) {
+            PostingList list = dictionary.get(term);
+            if (list != null) {
+                postings.add(list);
+            }
+        }
+        if (prefix && !words.isEmpty()) {
+            String last = words.get(words.size() - 1);
+            NavigableMap<String, PostingList> completions =
+                    dictionary.subMap(last, false, last + Character.MAX_VALUE, false);
+            completions.values().stream()
+                    .sorted((a, b) -> Integer.compare(b.size(), a.size()))
+                    .limit(MAX_PREFIX_TERMS)
+                    .forEach(postings::add);
+        }
+        return postings;
+    }
+
+    // BM25 over the given posting lists
+    private ScoreAccumulator score(List<PostingList> postings) {
+        long expected = 0;
+        for (PostingList list : postings) {
+            expected += list.size();
+        }
+        int documentCount = documents.size();
+        ScoreAccumulator scores = new ScoreAccumulator((int) Math.min(expected, documentCount), postings.size() == 1);
+        double averageLength = documentCount == 0 ? 1 : Math.max(1, (double) totalLength / documentCount);
+
+        for (PostingList list : postings) {
+            int df = list.size();
+            double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+            for (int i = 0; i < df; i++) {
+                int tf = list.frequency(i);
+                double norm = K1 * (1 - B + B * list.length(i) / averageLength);
+                scores.add(list.id(i), idf * tf * (K1 + 1) / (tf + norm));
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Slots of the best `wanted` scores, best first (ties: lower blog ID first).
+     * Uses a bounded min-heap, so the cost is O(hits · log wanted) instead of sorting every hit.
+     */
+    private static int[] topSlots(ScoreAccumulator scores, int wanted) {
+        int k = Math.min(wanted, scores.size());
+        int[] heap = new int[k];
+        int count = 0;
+        for (int slot = 0; slot < scores.capacity(); slot++) {
+            if (scores.idAt(slot) == 0) {
+                continue;
+            }
+            if (count < k) {
+                heap[count] = slot;
+                siftUp(scores, heap, count++);
+            } else if (k > 0 && better(scores, slot, heap[0])) {
+                heap[0] = slot;
+                siftDown(scores, heap, 0, k);
+            }
+        }
+        // Heap sort: repeatedly move the worst to the end, leaving the array best first
+        for (int end = k - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(scores, heap, 0, end);
+        }
+        return heap;
+    }
+
+    private static boolean better(ScoreAccumulator scores, int a, int b) {
+        int byScore = Double.compare(scores.scoreAt(a), scores.scoreAt(b));
+        return byScore != 0 ? byScore > 0 : scores.idAt(a) < scores.idAt(b);
+    }
+
+    private static void siftUp(ScoreAccumulator scores, int[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(scores, heap[parent], heap[i])) {
+                break;
+            }
+            swap(heap, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(ScoreAccumulator scores, int[] heap, int i, int size) {
+        while (true) {
+            int worst = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && better(scores, heap[worst], heap[left])) {
+                worst = left;
+            }
+            if (right < size && better(scores, heap[worst], heap[right])) {
+                worst = right;
+            }
+            if (worst == i) {
+                return;
+            }
+            swap(heap, i, worst);
+            i = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+
+    // Adds the terms of one field to the frequency map; returns the weighted term count
+    private static int count(String text, int weight, Map<String, int[]> frequencies) {
+        List<String> terms = new ArrayList<>();
+        Tokenizer.tokenize(text, terms);
+        for (String term : terms) {
+            frequencies.computeIfAbsent(term, t -> new int[1])[0] += weight;
+        }
+        return terms.size() * weight;
+    }
+
+    private void addLocked(long id, String title, Map<String, int[]> frequencies, int length) {
+        PostingList[] postings = new PostingList[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            PostingList list = dictionary.computeIfAbsent(entry.getKey(), PostingList::new);
+            list.add(id, entry.getValue()[0], length);
+            postings[i++] = list;
+        }
+        documents.put(id, new Document(title, postings, length));
+        totalLength += length;
+    }
+
+    private void removeLocked(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (PostingList list : document.postings()) {
+            list.remove(id);
+            if (list.size() == 0) {
+                dictionary.remove(list.term());
+            }
+        }
+        totalLength -= document.length();
+    }
+}
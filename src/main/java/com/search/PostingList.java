@@ -0,0 +1,82 @@
+package com.search;
+
+import java.util.Arrays;
+
+/**
+ * Blogs containing one term, as parallel primitive arrays sorted by blog ID:
+ * blog ID, term frequency in that blog, and the blog's length in terms (needed by BM25).
+ * New blogs have the highest IDs, so adding one is normally an append.
+ * Not thread-safe; BlogSearchIndex guards every instance with its lock.
+ */
+final class PostingList {
+
+    private final String term;
+    private long[] ids = new long[4];
+    private int[] frequencies = new int[4];
+    private int[] lengths = new int[4];
+    private int size;
+
+    PostingList(String term) {
+        this.term = term;
+    }
+
+    String term() {
+        return term;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int i) {
+        return ids[i];
+    }
+
+    int frequency(int i) {
+        return frequencies[i];
+    }
+
+    int length(int i) {
+        return lengths[i];
+    }
+
+    // Adds the blog, keeping IDs sorted (the blog must not be in the list yet)
+    void add(long id, int frequency, int length) {
+        if (size == ids.length) {
+            int capacity = Math.max(4, size * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            frequencies = Arrays.copyOf(frequencies, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        int at = size == 0 || ids[size - 1] < id ? size : -(Arrays.binarySearch(ids, 0, size, id) + 1);
+        if (at < size) {
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            System.arraycopy(frequencies, at, frequencies, at + 1, size - at);
+            System.arraycopy(lengths, at, lengths, at + 1, size - at);
+        }
+        ids[at] = id;
+        frequencies[at] = frequency;
+        lengths[at] = length;
+        size++;
+    }
+
+    // Drops unused capacity (called once the initial load is done)
+    void trim() {
+        ids = Arrays.copyOf(ids, size);
+        frequencies = Arrays.copyOf(frequencies, size);
+        lengths = Arrays.copyOf(lengths, size);
+    }
+
+    // Removes the blog if present
+    void remove(long id) {
+        int at = Arrays.binarySearch(ids, 0, size, id);
+        if (at < 0) {
+            return;
+        }
+        int tail = size - at - 1;
+        System.arraycopy(ids, at + 1, ids, at, tail);
+        System.arraycopy(frequencies, at + 1, frequencies, at, tail);
+        System.arraycopy(lengths, at + 1, lengths, at, tail);
+        size--;
+    }
+}
@@ -0,0 +1,71 @@
+package com.search;
+
+/**
+ * Per-query map from blog ID to score, with open addressing on primitive arrays
+ * (no boxing, no per-entry objects). Blog IDs start at 1, so 0 marks an empty slot.
+ * When only one posting list is scored, every ID arrives once, so the hashing is skipped
+ * and scores are simply appended.
+ */
+final class ScoreAccumulator {
+
+    private final long[] keys;
+    private final double[] scores;
+    private final int mask;
+    private final boolean distinct;
+    private int size;
+
+    /**
+     * @param expected - Upper bound of distinct blogs (sum of the posting list sizes)
+     * @param distinct - Whether every ID is added at most once
+     */
+    ScoreAccumulator(int expected, boolean distinct) {
+        int capacity = distinct ? Math.max(1, expected)
+                : Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;  // power of two, load ≤ 0.5
+        keys = new long[capacity];
+        scores = new double[capacity];
+        mask = capacity - 1;
+        this.distinct = distinct;
+    }
+
+    void add(long id, double score) {
+        if (distinct) {
+            keys[size] = id;
+            scores[size++] = score;
+            return;
+        }
+        int slot = (int) mix(id) & mask;
+        while (keys[slot] != 0 && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == 0) {
+            keys[slot] = id;
+            size++;
+        }
+        scores[slot] += score;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    // ID in a slot, or 0 if the slot is empty
+    long idAt(int slot) {
+        return keys[slot];
+    }
+
+    double scoreAt(int slot) {
+        return scores[slot];
+    }
+
+    // Spreads sequential IDs over the table (murmur3 finalizer)
+    private static long mix(long id) {
+        id ^= id >>> 33;
+        id *= 0xff51afd7ed558ccdL;
+        id ^= id >>> 33;
+        return id;
+    }
+}
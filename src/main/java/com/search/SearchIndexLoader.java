@@ -0,0 +1,61 @@
+package com.search;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.service.BlogService;
+
+/**
+ * Fills BlogSearchIndex from the database once the application is up.
+ * Runs on a background thread so startup is not delayed; until it finishes, searches answer 503
+ * while creates, updates and deletes already go into the index. A failed load is retried.
+ */
+@Component
+public class SearchIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexLoader.class);
+    private static final long RETRY_DELAY_SECONDS = 10;
+
+    private final BlogService blogService;
+    private final BlogSearchIndex searchIndex;
+
+    public SearchIndexLoader(BlogService blogService, BlogSearchIndex searchIndex) {
+        this.blogService = blogService;
+        this.searchIndex = searchIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        Thread loader = new Thread(this::load, "search-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void load() {
+        while (true) {
+            long start = System.nanoTime();
+            try {
+                // Streams every blog in ID order; already loaded blogs are skipped on a retry
+                blogService.streamAllBlogs(blog -> searchIndex.load(blog.getId(), blog.getTitle(), blog.getContent()));
+                searchIndex.finishLoading();
+                log.info("Search index loaded: {} blogs in {} ms", searchIndex.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                return;
+            } catch (DataAccessException ex) {
+                log.warn("Loading the search index failed, retrying in {}s: {}", RETRY_DELAY_SECONDS, ex.getMessage());
+            }
+            try {
+                TimeUnit.SECONDS.sleep(RETRY_DELAY_SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
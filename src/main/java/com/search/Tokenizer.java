@@ -0,0 +1,63 @@
+package com.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lowercase search terms: runs of letters and digits, 2 to 40 characters long,
+ * minus a short list of English stop words (they match nearly every post and carry no ranking signal).
+ */
+final class Tokenizer {
+
+    static final int MIN_LENGTH = 2;
+    static final int MAX_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with");
+
+    private Tokenizer() {
+    }
+
+    /**
+     * @param text - Text to split (null is treated as empty)
+     * @param terms - Receives the terms in order of appearance, duplicates included
+     * @return The number of terms added
+     */
+    static int tokenize(String text, List<String> terms) {
+        if (text == null) {
+            return 0;
+        }
+        int added = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int termLength = i - start;
+            if (termLength >= MIN_LENGTH && termLength <= MAX_LENGTH) {
+                String term = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(term)) {
+                    terms.add(term);
+                    added++;
+                }
+            }
+        }
+        return added;
+    }
+
+    // Query terms: same rules as indexing, so queries and documents agree
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        tokenize(text, terms);
+        return terms;
+    }
+}
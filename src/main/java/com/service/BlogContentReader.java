@@ -0,0 +1,136 @@
+package com.service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.dto.ResourceStamp;
+import com.exceptions.ResourceNotFoundException;
+
+/**
+ * Streams a blog's content (or a byte range of it) from the database to a client.
+ *
+ * The column is read as a character stream and encoded to UTF-8 on the way out, in small chunks, so the
+ * application never holds the body as one String (the JDBC driver may still buffer the row it fetched).
+ * Byte offsets are those of the UTF-8 encoding, the same as octet_length(content).
+ */
+@Service
+public class BlogContentReader {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BlogContentReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * What a response needs before its body: the content size and the revision it belongs to.
+     * @param size - Content size in bytes
+     * @param stamp - Version and last-change time of the blog
+     */
+    public record Body(long size, ResourceStamp stamp) {
+    }
+
+    /**
+     * Reads the size and revision of a blog's content, without transferring the content.
+     * @throws ResourceNotFoundException if the blog does not exist.
+     */
+    public Body find(Long blogId) {
+        Body body = jdbcTemplate.query("select octet_length(content), version, updated_at from blogs where blog_id = ?",
+                rs -> {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    Timestamp updatedAt = rs.getTimestamp(3);
+                    return new Body(rs.getLong(1),
+                            new ResourceStamp(rs.getLong(2), updatedAt != null ? updatedAt.toInstant() : null));
+                }, blogId);
+        if (body == null) {
+            throw new ResourceNotFoundException("Blog not found with ID: " + blogId);
+        }
+        return body;
+    }
+
+    /**
+     * Writes bytes first..last (inclusive) of a blog's content.
+     * Only the version the headers were built for is written: if the blog was changed or deleted in between,
+     * nothing is, and the client sees a body shorter than Content-Length (and re-requests).
+     * @param blogId - The blog
+     * @param version - Version from find()
+     * @param first - First byte to write
+     * @param last - Last byte to write
+     * @param out - The response body
+     */
+    public void write(Long blogId, long version, long first, long last, OutputStream out) {
+        jdbcTemplate.query("select content from blogs where blog_id = ? and version = ?", rs -> {
+            if (!rs.next()) {
+                return null;
+            }
+            try (Reader reader = rs.getCharacterStream(1)) {
+                if (reader == null) {
+                    return null;
+                }
+                RangeOutputStream range = new RangeOutputStream(out, first, last);
+                Writer writer = new OutputStreamWriter(range, StandardCharsets.UTF_8);
+                char[] buffer = new char[8192];
+                int read;
+                while (!range.isDone() && (read = reader.read(buffer)) != -1) {
+                    writer.write(buffer, 0, read);
+                }
+                writer.flush();  // Not closed: the response stream belongs to the caller
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);  // Client went away; ends the query too
+            }
+            return null;
+        }, blogId, version);
+    }
+
+    // Passes on only the bytes at positions first..last of what is written to it
+    private static final class RangeOutputStream extends FilterOutputStream {
+        private final long first;
+        private final long last;
+        private long position;
+
+        RangeOutputStream(OutputStream out, long first, long last) {
+            super(out);
+            this.first = first;
+            this.last = last;
+        }
+
+        boolean isDone() {
+            return position > last;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (position >= first && position <= last) {
+                out.write(b);
+            }
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long start = Math.max(position, first);
+            long end = Math.min(position + len - 1, last);
+            if (start <= end) {
+                out.write(b, off + (int) (start - position), (int) (end - start + 1));
+            }
+            position += len;
+        }
+
+        @Override
+        public void close() {
+            // The response stream is closed by the container
+        }
+    }
+}
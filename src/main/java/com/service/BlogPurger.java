@@ -0,0 +1,158 @@
+package com.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.repository.BlogRepository;
+import com.repository.CommentRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Deletes blogs together with their comments using bulk DELETE statements, never loading entities.
+ *
+ * - Normal path: one transaction with two statements (all comments of the blog, then the blog row).
+ * - Optional background purge (app.blogs.delete.async-purge): a blog with at least min-comments comments
+ *   is hidden first (one UPDATE setting deleted_at; BlogEntity's restriction then leaves it out of every read),
+ *   then has its comments deleted in chunks of chunk-size rows, one short transaction each, so no single
+ *   statement holds row locks on a huge thread. The last transaction deletes any comments posted meanwhile
+ *   and then the blog.
+ * A purge cut short by a shutdown or a database error leaves the blog hidden; it is resumed at the next
+ * startup, or by deleting the blog again.
+ */
+@Service
+public class BlogPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogPurger.class);
+
+    private final BlogRepository blogRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean asyncEnabled;
+    private final long asyncMinComments;
+    private final int chunkSize;
+
+    private final Set<Long> purging = ConcurrentHashMap.newKeySet();  // Blogs with a background purge queued or running
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "blog-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BlogPurger(BlogRepository blogRepository, CommentRepository commentRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.blogs.delete.async-purge.enabled:false}") boolean asyncEnabled,
+            @Value("${app.blogs.delete.async-purge.min-comments:10000}") long asyncMinComments,
+            @Value("${app.blogs.delete.async-purge.chunk-size:1000}") int chunkSize) {
+        this.blogRepository = blogRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.asyncEnabled = asyncEnabled;
+        this.asyncMinComments = asyncMinComments;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Whether the blog should be deleted by a background purge: it is already being purged, or background
+     * purging is enabled and the blog has enough comments. Costs one primary key lookup when enabled.
+     */
+    public boolean shouldPurgeInBackground(Long blogId) {
+        if (purging.contains(blogId)) {
+            return true;
+        }
+        return asyncEnabled && blogRepository.findCommentCountById(blogId).orElse(0L) >= asyncMinComments;
+    }
+
+    /**
+     * Deletes a blog and its comments now: one transaction, two DELETE statements.
+     * @param blogId - The blog to delete
+     * @return True if the blog existed
+     */
+    public boolean deleteNow(Long blogId) {
+        return transactionTemplate.execute(status -> {
+            commentRepository.deleteAllByBlogId(blogId);
+            return blogRepository.deleteRowById(blogId) == 1;
+        });
+    }
+
+    /**
+     * Hides a blog from readers now and deletes it in the background (only hides it if that is already happening).
+     * @param blogId - The blog to delete
+     * @param onDeleted - Runs on the purger thread once the blog row is deleted
+     * @return False if the blog does not exist
+     */
+    public boolean purgeInBackground(Long blogId, Runnable onDeleted) {
+        if (transactionTemplate.execute(status -> blogRepository.hideById(blogId, Instant.now())) == 0) {
+            return false;
+        }
+        if (purging.add(blogId)) {
+            executor.execute(() -> {
+                try {
+                    purge(blogId, onDeleted);
+                } finally {
+                    purging.remove(blogId);
+                }
+            });
+        }
+        return true;
+    }
+
+    // Picks up the purges an earlier run left unfinished (their blogs are still hidden)
+    @EventListener(ApplicationReadyEvent.class)
+    void resumeUnfinished() {
+        for (Long blogId : blogRepository.findHiddenIds()) {
+            log.info("Resuming the purge of blog {}", blogId);
+            purgeInBackground(blogId, () -> { });  // Nothing to evict: the blog was hidden before this run
+        }
+    }
+
+    // Deletes the comments chunk by chunk, then the rest of them and the blog in one last transaction
+    private void purge(Long blogId, Runnable onDeleted) {
+        long start = System.nanoTime();
+        long deleted = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Integer rows = transactionTemplate.execute(status -> {
+                    List<Long> ids = commentRepository.findIdsByBlogId(blogId, Limit.of(chunkSize));
+                    return ids.isEmpty() ? 0 : commentRepository.deleteAllByIdIn(ids);
+                });
+                deleted += rows;
+                if (rows < chunkSize) {
+                    break;
+                }
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                log.warn("Purge of blog {} stopped after {} comments; resumed at the next startup", blogId, deleted);
+                return;
+            }
+            if (deleteNow(blogId)) {
+                onDeleted.run();
+            }
+            log.info("Purged blog {} with {} comments in {} ms", blogId, deleted,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (DataAccessException ex) {
+            log.warn("Purge of blog {} failed after {} comments; delete it again to resume: {}", blogId, deleted,
+                    ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();  // Interrupts a running purge between chunks; queued ones are dropped
+    }
+}
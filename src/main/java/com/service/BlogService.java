@@ -1,32 +1,96 @@
 package com.service;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.cache.BlogCommentsCache;
+import com.cache.MissingIds;
+import com.cache.MostDiscussedBlogs;
+import com.config.CacheConfig;
+import com.config.MetricsConfig;
+import com.dto.BatchResult;
 import com.dto.BlogDTO;
+import com.dto.BlogPatch;
+import com.dto.BlogRank;
+import com.dto.BlogSummary;
+import com.dto.CommentDTO;
+import com.dto.CursorPage;
+import com.dto.ResourceStamp;
+import com.dto.SearchPage;
 import com.entity.BlogEntity;
+import com.exceptions.BadRequestException;
+import com.exceptions.ConflictException;
 import com.exceptions.ResourceNotFoundException;
 import com.repository.BlogRepository;
+import com.search.BlogSearchIndex;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 
 @Service  // Marks this class as a Spring service component, making it eligible for dependency injection.
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = { 0.5, 0.95, 0.99 })  // Times every public method (tags: class, method)
 public class BlogService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;  // Page size used when the client does not ask for one
+    public static final int MAX_PAGE_SIZE = 100;     // Hard cap so a single request can never load the whole table
+    public static final int MAX_SEARCH_RESULTS = 1000;  // Deepest search result reachable by paging (page+1)*size
+    public static final int MAX_BATCH_IDS = 100;  // Most distinct IDs per multi-get, so one request stays one bounded IN query
 	
 	private final BlogRepository blogRepository;
+    private final CacheManager cacheManager;
+    private final BlogCommentsCache blogCommentsCache;
+    private final BlogSearchIndex searchIndex;
+    private final MostDiscussedBlogs mostDiscussedBlogs;
+    private final CommentWriteBehindQueue commentWriteQueue;
+    private final MissingIds missingIds;
+    private final BlogPurger blogPurger;
+    private final CommentStreamHub commentStreamHub;
 
     // Constructor-based dependency injection for BlogRepository
-    public BlogService(BlogRepository blogRepository) {
+    public BlogService(BlogRepository blogRepository, CacheManager cacheManager,
+            BlogCommentsCache blogCommentsCache, BlogSearchIndex searchIndex, MostDiscussedBlogs mostDiscussedBlogs,
+            CommentWriteBehindQueue commentWriteQueue, MissingIds missingIds, BlogPurger blogPurger,
+            CommentStreamHub commentStreamHub) {
         this.blogRepository = blogRepository;
+        this.cacheManager = cacheManager;
+        this.blogCommentsCache = blogCommentsCache;
+        this.searchIndex = searchIndex;
+        this.mostDiscussedBlogs = mostDiscussedBlogs;
+        this.commentWriteQueue = commentWriteQueue;
+        this.missingIds = missingIds;
+        this.blogPurger = blogPurger;
+        this.commentStreamHub = commentStreamHub;
     }
     
     /**
      * Creates a new blog entry in the database.
      * @param blogDTO DTO containing blog details.
+     * New blogs are put in the cache straight away, since fresh posts are the most read.
      * @return The saved BlogDTO with generated ID.
      */
+    @CachePut(cacheNames = CacheConfig.BLOGS, key = "#result.id")
     public BlogDTO createBlog(@Valid BlogDTO blogDTO) {
         BlogEntity blog = new BlogEntity();
         blog.setTitle(blogDTO.getTitle());
@@ -34,54 +98,200 @@ public class BlogService {
 
         // Save the blog entity in the database and return the saved entity
         BlogEntity savedBlog = blogRepository.save(blog);
+        missingIds.created(MissingIds.Kind.BLOG, savedBlog.getId());
+        searchIndex.index(savedBlog.getId(), savedBlog.getTitle(), savedBlog.getContent());
 
         // Convert the saved entity to DTO and return
         return mapToDTO(savedBlog);
     }
 
     /**
-     * Retrieves all blog entries from the database.
-     * @return List of BlogDTOs.
+     * Retrieves one page of blog entries using keyset pagination on the blog ID.
+     * @param cursor Cursor token from the previous page, or null for the first page.
+     * @param size Requested page size (clamped to 1..MAX_PAGE_SIZE).
+     * @return The page of BlogDTOs and the cursor for the next page.
      */
-    public List<BlogDTO> getAllBlogs() {
-        return blogRepository.findAll() // Fetch all blogs from database
-                .stream() // Convert list to stream for processing
-                .map(blog -> mapToDTO(blog)) // Convert each BlogEntity to BlogDTO
-                .collect(Collectors.toList()); // Collect the mapped DTOs into a list
+    @Transactional(readOnly = true)  // Read-only: served by the replica when read routing is enabled
+    public CursorPage<BlogDTO> getAllBlogs(String cursor, int size) {
+        long afterId = CursorPage.decodeCursor(cursor);
+        int pageSize = clampPageSize(size);
+
+        // Fetch one extra row to find out whether another page exists
+        List<BlogDTO> rows = blogRepository.findDtosAfter(afterId, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+
+        List<BlogDTO> blogs = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? CursorPage.encodeCursor(blogs.get(blogs.size() - 1).getId()) : null;
+        return new CursorPage<>(blogs, nextCursor);
+    }
+
+    /**
+     * Full-text search over blog titles and contents, answered from the in-memory index (no database access).
+     * @param query Free-text query.
+     * @param prefix Whether the last word also matches longer terms (search-as-you-type).
+     * @param page Zero-based page number.
+     * @param size Requested page size (clamped to 1..MAX_PAGE_SIZE).
+     * @return The page of hits, best match first, with the total number of matches.
+     * @throws BadRequestException if the page lies beyond MAX_SEARCH_RESULTS.
+     */
+    public SearchPage searchBlogs(String query, boolean prefix, int page, int size) {
+        int pageSize = clampPageSize(size);
+        if (page < 0 || (long) (page + 1) * pageSize > MAX_SEARCH_RESULTS) {
+            throw new BadRequestException("Only the first " + MAX_SEARCH_RESULTS + " search results can be paged through");
+        }
+        return searchIndex.search(query, prefix, page, pageSize);
+    }
+
+    /**
+     * The most commented blogs, from the in-memory ranking (refreshed from the comment_count index when needed).
+     * @param limit Number of blogs wanted (clamped to 1..ranking capacity).
+     * @return Blogs with their comment counts, most commented first.
+     */
+    public List<BlogRank> getMostDiscussed(int limit) {
+        return mostDiscussedBlogs.top(Math.max(1, Math.min(limit, mostDiscussedBlogs.capacity())));
+    }
+
+    /**
+     * Retrieves one page of blog summaries (no full content) using keyset pagination on the blog ID.
+     * @param cursor Cursor token from the previous page, or null for the first page.
+     * @param size Requested page size (clamped to 1..MAX_PAGE_SIZE).
+     * @return The page of BlogSummary views and the cursor for the next page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<BlogSummary> getBlogSummaries(String cursor, int size) {
+        long afterId = CursorPage.decodeCursor(cursor);
+        int pageSize = clampPageSize(size);
+
+        List<BlogSummary> rows = blogRepository.findSummariesAfter(afterId, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+
+        List<BlogSummary> summaries = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? CursorPage.encodeCursor(summaries.get(pageSize - 1).getId()) : null;
+        return new CursorPage<>(summaries, nextCursor);
+    }
+
+    /**
+     * Streams every blog to the given consumer in ID order with bounded memory.
+     * Rows are read as DTOs, so the persistence context does not grow.
+     * @param sink Receives each BlogDTO as it is read.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllBlogs(Consumer<BlogDTO> sink) {
+        try (Stream<BlogDTO> blogs = blogRepository.streamAllOrderById()) {
+            blogs.forEach(sink);
+        }
+    }
+
+    // Keeps the page size within 1..MAX_PAGE_SIZE
+    static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 
     /**
      * Retrieves a single blog by its ID.
+     * Served from the in-process cache when present; only misses reach the database.
+     * IDs that were just looked up and not found are answered from the negative cache (MissingIds).
      * @param id ID of the blog to fetch.
      * @return BlogDTO of the requested blog.
      * @throws ResourceNotFoundException if blog is not found.
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.BLOGS, key = "#id")
     public BlogDTO getBlogById(Long id) {
-        BlogEntity blog = blogRepository.findById(id) // Fetch blog by ID
+        return missingIds.find(MissingIds.Kind.BLOG, id, blogRepository::findDtoById) // One query, content included
                 .orElseThrow(() -> new ResourceNotFoundException("Blog not found with ID: " + id)); // Throw exception if not found
-        return mapToDTO(blog); // Convert entity to DTO and return
+    }
+
+    /**
+     * Retrieves several blogs at once (multi-get).
+     * Blogs in the blog cache are taken from it; the rest are read with one IN query (skipping IDs recently
+     * found missing) and added to the cache. Missing IDs are reported, not thrown.
+     * @param ids IDs of the blogs to fetch (at most MAX_BATCH_IDS distinct ones).
+     * @return The blogs found in request order, and the IDs that do not exist.
+     * @throws BadRequestException if there are more than MAX_BATCH_IDS distinct IDs.
+     */
+    @Transactional(readOnly = true)
+    public BatchResult<BlogDTO> getBlogsByIds(List<Long> ids) {
+        Set<Long> distinct = distinctIds(ids);
+        Cache cache = cacheManager.getCache(CacheConfig.BLOGS);
+        Map<Long, BlogDTO> found = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : distinct) {
+            BlogDTO cached = cache.get(id, BlogDTO.class);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            missingIds.findAll(MissingIds.Kind.BLOG, uncached, batch -> blogRepository.findDtosByIdIn(batch).stream()
+                    .collect(Collectors.toMap(BlogDTO::getId, Function.identity())))
+                    .forEach((id, blog) -> {
+                        cache.putIfAbsent(id, blog);  // An entry put meanwhile by an update is at least as new
+                        found.put(id, blog);
+                    });
+        }
+        return BatchResult.of(distinct, found);
+    }
+
+    // Request order, each ID once (nulls from empty list elements dropped), within MAX_BATCH_IDS
+    static Set<Long> distinctIds(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("At most " + MAX_BATCH_IDS + " IDs can be fetched at once");
+        }
+        return distinct;
+    }
+
+    /**
+     * Returns the revision stamp of a blog for a conditional GET.
+     * Answered from the blog cache when the blog is cached, otherwise by a primary key lookup
+     * of the version and updated_at columns only.
+     * @param id ID of the blog.
+     * @return The blog's version and last-change time.
+     * @throws ResourceNotFoundException if blog is not found.
+     */
+    @Transactional(readOnly = true)
+    public ResourceStamp getBlogStamp(Long id) {
+        BlogDTO cached = cacheManager.getCache(CacheConfig.BLOGS).get(id, BlogDTO.class);
+        if (cached != null) {
+            return new ResourceStamp(cached.getVersion(), cached.getUpdatedAt());
+        }
+        return missingIds.find(MissingIds.Kind.BLOG, id, blogRepository::findStampById)
+                .orElseThrow(() -> new ResourceNotFoundException("Blog not found with ID: " + id));
     }
 
     /**
      * Converts a BlogEntity to BlogDTO.
+     * Package-private so the JMH benchmarks (src/jmh/java, benchmark profile) can measure it.
      * @param blog Blog entity.
      * @return Converted BlogDTO.
      */
-    private BlogDTO mapToDTO(BlogEntity blog) {
+    BlogDTO mapToDTO(BlogEntity blog) {
         BlogDTO dto = new BlogDTO();
         dto.setId(blog.getId());
         dto.setTitle(blog.getTitle());
         dto.setContent(blog.getContent());
+        dto.setVersion(blog.getVersion());
+        dto.setUpdatedAt(blog.getUpdatedAt());
         return dto;
     }
 	
     /**
      * Updates an existing blog.
+     * The cache entry is replaced with the updated DTO, so later reads never see the old version.
+     * The entity is read and written in one transaction; @Version makes the UPDATE fail if another
+     * request changed the blog in between, instead of silently overwriting that change.
      * @param id ID of the blog to update.
      * @param blogDto BlogDTO with updated data.
      * @return Updated BlogDTO.
      * @throws ResourceNotFoundException if blog is not found.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the blog was changed concurrently.
      */
+    @Transactional
+    @CachePut(cacheNames = CacheConfig.BLOGS, key = "#id")
     public BlogDTO updateBlog(Long id, BlogDTO blogDto) {
         // Find the blog or throw exception if not found
         BlogEntity blog = blogRepository.findById(id)
@@ -91,21 +301,156 @@ public class BlogService {
         blog.setTitle(blogDto.getTitle());
         blog.setContent(blogDto.getContent());
 
-        // Save updated blog and return the DTO
-        BlogEntity updatedBlog = blogRepository.save(blog);
-        return mapToDTO(updatedBlog);
+        // Flush so version and updatedAt are the written ones (and a lost race fails here, inside the transaction)
+        BlogEntity updatedBlog = blogRepository.saveAndFlush(blog);
+        BlogDTO updated = mapToDTO(updatedBlog);
+        reindex(updated);
+        return updated;
+    }
+
+    /**
+     * Updates a blog only if it is still at the version the client last saw (PUT with If-Match).
+     * One conditional UPDATE and no SELECT; the result is built from the request, since every field is known.
+     * @param id ID of the blog to update.
+     * @param blogDto BlogDTO with updated data.
+     * @param expectedVersion Version from the client's If-Match header.
+     * @return Updated BlogDTO.
+     * @throws ResourceNotFoundException if blog is not found.
+     * @throws ConflictException if the blog is at another version.
+     */
+    @CachePut(cacheNames = CacheConfig.BLOGS, key = "#id")
+    public BlogDTO updateBlog(Long id, BlogDTO blogDto, long expectedVersion) {
+        Instant now = now();
+        if (blogRepository.updateIfVersion(id, blogDto.getTitle(), blogDto.getContent(), expectedVersion, now) == 0) {
+            throw notUpdated(id);
+        }
+        BlogDTO updated = new BlogDTO();
+        updated.setId(id);
+        updated.setTitle(blogDto.getTitle());
+        updated.setContent(blogDto.getContent());
+        updated.setVersion(expectedVersion + 1);
+        updated.setUpdatedAt(now);
+        reindex(updated);
+        return updated;
+    }
+
+    /**
+     * Changes only the given fields of a blog (PATCH), with one UPDATE and without loading the entity first.
+     * The full result is built from the cached blog when the cache holds the version that was patched;
+     * otherwise the blog is read back once after the update (for the response, the cache and the search index).
+     * @param id ID of the blog to update.
+     * @param patch The fields to change.
+     * @param expectedVersion Version from the client's If-Match header, or null to patch whatever is current.
+     * @return Updated BlogDTO.
+     * @throws ResourceNotFoundException if blog is not found.
+     * @throws ConflictException if an expected version is given and the blog is at another version.
+     */
+    @CachePut(cacheNames = CacheConfig.BLOGS, key = "#id")
+    public BlogDTO patchBlog(Long id, BlogPatch patch, Long expectedVersion) {
+        BlogDTO cached = cacheManager.getCache(CacheConfig.BLOGS).get(id, BlogDTO.class);
+        Instant now = now();
+        int rows = expectedVersion != null
+                ? blogRepository.patchIfVersion(id, patch.title(), patch.content(), expectedVersion, now)
+                : blogRepository.patch(id, patch.title(), patch.content(), now);
+        if (rows == 0) {
+            throw notUpdated(id);
+        }
+
+        BlogDTO updated;
+        if (cached != null && expectedVersion != null && expectedVersion.equals(cached.getVersion())) {
+            updated = new BlogDTO();
+            updated.setId(id);
+            updated.setTitle(patch.title() != null ? patch.title() : cached.getTitle());
+            updated.setContent(patch.content() != null ? patch.content() : cached.getContent());
+            updated.setVersion(expectedVersion + 1);
+            updated.setUpdatedAt(now);
+        } else {
+            updated = blogRepository.findDtoById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Blog not found with ID: " + id));  // Deleted meanwhile
+        }
+        reindex(updated);
+        return updated;
+    }
+
+    // After a committed update: keep the search index and the ranking's titles current. Inside a transaction
+    // (updateBlog) this waits for the commit, so a rolled-back update is never indexed.
+    private void reindex(BlogDTO blog) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index(blog);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index(blog);
+            }
+        });
+    }
+
+    private void index(BlogDTO blog) {
+        searchIndex.index(blog.getId(), blog.getTitle(), blog.getContent());
+        mostDiscussedBlogs.blogRenamed(blog.getId(), blog.getTitle());
+    }
+
+    // A conditional update changed no row: tell a missing blog apart from a version conflict
+    private RuntimeException notUpdated(Long id) {
+        return missingIds.find(MissingIds.Kind.BLOG, id, blogRepository::findStampById)
+                .<RuntimeException>map(stamp -> new ConflictException(
+                        "Blog " + id + " was changed by another request (current version " + stamp.version() + ")"))
+                .orElseGet(() -> new ResourceNotFoundException("Blog not found with ID: " + id));
+    }
+
+    // Timestamps written by the single-statement updates, at the precision the updated_at column keeps
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
     }
 	
     /**
-     * Deletes a blog by ID.
+     * Deletes a blog by ID, with its comments, using bulk DELETE statements (see BlogPurger).
+     * Blogs with very large threads may be purged in the background instead (app.blogs.delete.async-purge):
+     * they are hidden from every read before this returns, and deleted later.
+     * Evicts the blog, its deleted comments and its cached comment thread from the caches once it is gone
+     * (or hidden, and again once a background purge has deleted it).
      * @param id ID of the blog to delete.
+     * @return True if the blog was deleted, false if a background purge was started (or is running).
      * @throws ResourceNotFoundException if blog is not found.
      */
-    public void deleteBlog(Long id) {
-        BlogEntity blog = blogRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Blog not found with ID: " + id));
+    @CacheEvict(cacheNames = CacheConfig.BLOGS, key = "#id")
+    public boolean deleteBlog(Long id) {
+        if (blogPurger.shouldPurgeInBackground(id)) {
+            if (!blogPurger.purgeInBackground(id, () -> blogDeleted(id))) {
+                throw new ResourceNotFoundException("Blog not found with ID: " + id);
+            }
+            blogDeleted(id);
+            return false;
+        }
+        if (!blogPurger.deleteNow(id)) {
+            throw new ResourceNotFoundException("Blog not found with ID: " + id);
+        }
+        blogDeleted(id);
+        return true;
+    }
 
-        // Delete the blog from the database
-        blogRepository.delete(blog);
+    // After the blog row is deleted or hidden: drop it from the in-memory indexes and caches
+    private void blogDeleted(Long id) {
+        cacheManager.getCache(CacheConfig.BLOGS).evict(id);  // May have been read again during a background purge
+        searchIndex.remove(id);
+        mostDiscussedBlogs.blogDeleted(id);
+        commentWriteQueue.forgetBlog(id);
+        evictCachedComments(id);
+        blogCommentsCache.evict(id);
+        commentStreamHub.blogDeleted(id);
+    }
+
+    /**
+     * Removes every cached comment of a blog.
+     * Comment IDs are not known here, so the cache is scanned; deletes are rare compared to reads.
+     * @param blogId ID of the deleted blog.
+     */
+    private void evictCachedComments(Long blogId) {
+        if (cacheManager.getCache(CacheConfig.COMMENTS) instanceof CaffeineCache cache) {
+            cache.getNativeCache().asMap().values()
+                    .removeIf(value -> value instanceof CommentDTO comment && blogId.equals(comment.getBlogId()));
+        }
     }
 }
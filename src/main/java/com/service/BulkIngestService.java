@@ -0,0 +1,207 @@
+package com.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cache.BlogCommentsCache;
+import com.cache.MissingIds;
+import com.cache.MostDiscussedBlogs;
+import com.config.MetricsConfig;
+import com.dto.BlogDTO;
+import com.dto.BulkItemResult;
+import com.dto.CommentDTO;
+import com.entity.BlogEntity;
+import com.entity.CommentEntity;
+import com.exceptions.ResourceNotFoundException;
+import com.repository.BlogRepository;
+import com.search.BlogSearchIndex;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk creation of blogs and comments.
+ *
+ * Items are read one at a time (so NDJSON uploads are never held in memory as a whole), validated
+ * individually, and written in chunks: one transaction per chunk, with Hibernate sending the inserts
+ * as JDBC batches (hibernate.jdbc.batch_size). Invalid items are reported and skipped; a chunk that
+ * fails to write marks only its own items as FAILED.
+ * Results are handed out after each chunk (at most chunk-size items, valid or not, are held at once),
+ * so neither the input nor the results of a large upload are kept in memory.
+ */
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = { 0.5, 0.95, 0.99 })  // Times every public method (tags: class, method)
+public class BulkIngestService {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final BlogRepository blogRepository;
+    private final BlogCommentsCache blogCommentsCache;
+    private final BlogSearchIndex searchIndex;
+    private final MostDiscussedBlogs mostDiscussedBlogs;
+    private final MissingIds missingIds;
+    private final CommentStreamHub commentStreamHub;
+    private final int chunkSize;
+
+    public BulkIngestService(EntityManager entityManager, TransactionTemplate transactionTemplate,
+            Validator validator, BlogRepository blogRepository, BlogCommentsCache blogCommentsCache,
+            BlogSearchIndex searchIndex, MostDiscussedBlogs mostDiscussedBlogs, MissingIds missingIds,
+            CommentStreamHub commentStreamHub, @Value("${app.bulk.chunk-size:500}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.blogRepository = blogRepository;
+        this.blogCommentsCache = blogCommentsCache;
+        this.searchIndex = searchIndex;
+        this.mostDiscussedBlogs = mostDiscussedBlogs;
+        this.missingIds = missingIds;
+        this.commentStreamHub = commentStreamHub;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * ✅ Create many blogs.
+     * @param blogs Blogs to create; a null element stands for an item that could not be parsed.
+     * @param results Receives one result per item, in input order, chunk by chunk.
+     */
+    public void createBlogs(Iterator<BlogDTO> blogs, Consumer<BulkItemResult> results) {
+        ingest(blogs, dto -> {
+            BlogEntity blog = new BlogEntity();
+            blog.setTitle(dto.getTitle());
+            blog.setContent(dto.getContent());
+            return blog;
+        }, BlogEntity::getId, written -> { }, written -> written.forEach(blog -> {
+            missingIds.created(MissingIds.Kind.BLOG, blog.getId());
+            searchIndex.index(blog.getId(), blog.getTitle(), blog.getContent());
+        }), results);
+    }
+
+    /**
+     * ✅ Create many comments on one blog.
+     * @param blogId The blog all comments belong to.
+     * @param comments Comments to create; a null element stands for an item that could not be parsed.
+     * @param results Receives one result per item, in input order, chunk by chunk.
+     * @throws ResourceNotFoundException if the blog does not exist (before any result is handed out).
+     */
+    public void createComments(Long blogId, Iterator<CommentDTO> comments, Consumer<BulkItemResult> results) {
+        if (!missingIds.exists(MissingIds.Kind.BLOG, blogId, blogRepository::existsById)) {
+            throw new ResourceNotFoundException("Blog not found with ID: " + blogId);
+        }
+        ingest(comments, dto -> {
+            CommentEntity comment = new CommentEntity();
+            comment.setComment(dto.getComment());
+            comment.setBlog(entityManager.getReference(BlogEntity.class, blogId)); // FK only, no SELECT
+            return comment;
+        }, CommentEntity::getId,
+                written -> blogRepository.addToCommentCount(blogId, written.size(), Instant.now()),  // same transaction as the inserts
+                written -> {
+                    written.forEach(comment -> {
+                        missingIds.created(MissingIds.Kind.COMMENT, comment.getId());
+                        commentStreamHub.publish(
+                                new CommentDTO(comment.getId(), blogId, comment.getComment(), comment.getUpdatedAt()));
+                    });
+                    mostDiscussedBlogs.commentsAdded(blogId, written.size());
+                }, results);
+
+        // Many appends at once: cheaper to let the next read reload the thread
+        blogCommentsCache.evict(blogId);
+    }
+
+    /**
+     * Validates and writes items chunk by chunk.
+     * @param items Input items (null = unparseable).
+     * @param toEntity Maps a valid DTO to a new entity; runs in the chunk's transaction.
+     * @param idOf Reads the generated ID of a persisted entity.
+     * @param inTransaction Runs in each chunk's transaction, after the inserts.
+     * @param afterCommit Receives the entities of each committed chunk.
+     * @param results Receives the results of each chunk's items (and of the invalid items among them), in order.
+     */
+    private <D, E> void ingest(Iterator<D> items, Function<D, E> toEntity, Function<E, Long> idOf,
+            Consumer<List<E>> inTransaction, Consumer<List<E>> afterCommit, Consumer<BulkItemResult> results) {
+        List<BulkItemResult> pending = new ArrayList<>(chunkSize);  // Results since the last chunk; null until written
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        List<D> chunk = new ArrayList<>(chunkSize);
+
+        int index = 0;
+        while (items.hasNext()) {
+            D item = items.next();
+            List<String> errors = validate(item);
+            if (errors.isEmpty()) {
+                chunkIndexes.add(index);
+                chunk.add(item);
+                pending.add(null);
+            } else {
+                pending.add(BulkItemResult.invalid(index, errors));
+            }
+            index++;
+
+            if (pending.size() == chunkSize) {  // Also caps the chunk, which is never larger than pending
+                writeChunk(chunk, chunkIndexes, pending, index - pending.size(), toEntity, idOf, inTransaction, afterCommit);
+                pending.forEach(results);
+                pending.clear();
+            }
+        }
+        if (!pending.isEmpty()) {
+            writeChunk(chunk, chunkIndexes, pending, index - pending.size(), toEntity, idOf, inTransaction, afterCommit);
+            pending.forEach(results);
+        }
+    }
+
+    // Persists one chunk in its own transaction, then records the per-item outcome in pending (starting at item base)
+    private <D, E> void writeChunk(List<D> chunk, List<Integer> chunkIndexes, List<BulkItemResult> pending, int base,
+            Function<D, E> toEntity, Function<E, Long> idOf, Consumer<List<E>> inTransaction,
+            Consumer<List<E>> afterCommit) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<E> entities = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                chunk.forEach(dto -> entities.add(toEntity.apply(dto)));  // e.g. getReference needs this transaction
+                entities.forEach(entityManager::persist);
+                entityManager.flush();  // Sends the batched INSERTs
+                inTransaction.accept(entities);
+                entityManager.clear();  // Keeps the persistence context from growing across chunks
+            });
+            for (int i = 0; i < entities.size(); i++) {
+                int chunkIndex = chunkIndexes.get(i);
+                pending.set(chunkIndex - base, BulkItemResult.created(chunkIndex, idOf.apply(entities.get(i))));
+            }
+            afterCommit.accept(entities);
+        } catch (DataAccessException ex) {
+            entityManager.clear();  // Drop the entities of the rolled-back chunk
+            String message = ex.getMostSpecificCause().getMessage();
+            for (Integer chunkIndex : chunkIndexes) {
+                pending.set(chunkIndex - base, BulkItemResult.failed(chunkIndex, message));
+            }
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    // Bean validation of one item, reported as "field|message" like GlobalExceptionHandler does
+    private <D> List<String> validate(D item) {
+        if (item == null) {
+            return List.of("body|Malformed JSON");
+        }
+        Set<ConstraintViolation<D>> violations = validator.validate(item);
+        List<String> errors = new ArrayList<>(violations.size());
+        for (ConstraintViolation<D> violation : violations) {
+            errors.add(violation.getPropertyPath() + "|" + violation.getMessage());
+        }
+        return errors;
+    }
+}
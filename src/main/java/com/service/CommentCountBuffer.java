@@ -0,0 +1,175 @@
+package com.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Optional group commit for blogs.comment_count (app.comments.count-flush-interval, off by default).
+ *
+ * By default (interval 0) nothing is buffered: CommentService counts each comment with an UPDATE in the
+ * comment's own transaction, so the stored count is always exact.
+ * With an interval set, posting a comment costs a single INSERT: its +1 is added to an in-memory delta per
+ * blog, and a background thread writes all deltas once per interval, with one UPDATE per blog in one JDBC batch.
+ * Stored counts then trail by up to one interval (MostDiscussedBlogs adds the pending deltas when it reloads),
+ * and so do thread versions (thread ETags, and the pages cached under them, change with the flush, not the post).
+ * A crash loses the increments of at most one interval, which nothing reconciles later: only opt in where
+ * approximate counts are acceptable. A failed flush keeps its deltas for the next one. Shutdown flushes what
+ * is left; counts added after that are written at once.
+ */
+@Service
+public class CommentCountBuffer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentCountBuffer.class);
+    private static final String ADD_TO_COMMENT_COUNT = "update blogs set comment_count = comment_count + ?, "
+            + "comments_version = comments_version + 1, comments_updated_at = ? where blog_id = ?";  // Also bumps the thread version
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");  // Hibernate stores Instants as UTC
+
+    private final long intervalMillis;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();  // Blog ID → comments not yet counted
+    private final AtomicLong flushes = new AtomicLong();  // Flushes committed so far
+
+    private volatile boolean running;
+    private volatile boolean stopped;  // Set by stop(): nothing flushes anymore
+    private Thread flusher;
+
+    public CommentCountBuffer(@Value("${app.comments.count-flush-interval:0s}") Duration interval,
+            JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.intervalMillis = interval.toMillis();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Whether counts are buffered (otherwise callers update them in their own transaction)
+    public boolean isEnabled() {
+        return intervalMillis > 0;
+    }
+
+    /**
+     * Counts committed comments; written with the next flush, or at once after shutdown has flushed.
+     * @param blogId - Blog the comments belong to
+     * @param delta - Number of comments
+     */
+    public void add(Long blogId, long delta) {
+        if (stopped) {
+            jdbcTemplate.update(ADD_TO_COMMENT_COUNT, ps -> {
+                ps.setLong(1, delta);
+                ps.setTimestamp(2, Timestamp.from(Instant.now()), Calendar.getInstance(UTC));
+                ps.setLong(3, blogId);
+            });
+            return;
+        }
+        pending.merge(blogId, delta, Long::sum);
+        if (stopped) {
+            flush();  // Raced with stop(): its last flush may have run before the merge
+        }
+    }
+
+    // Comments not yet written to comment_count, per blog (a copy; empty when nothing is buffered)
+    public Map<Long, Long> pending() {
+        return new HashMap<>(pending);
+    }
+
+    // Number of committed flushes; a caller that read pending() and then comment_count can compare it
+    // before and after to detect a flush in between (whose deltas it would have counted twice)
+    public long flushes() {
+        return flushes.get();
+    }
+
+    // Writes every pending delta in one transaction; deltas that fail to write are put back
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Long>> deltas = new ArrayList<>(pending.size());
+        for (Long blogId : pending.keySet()) {
+            Long delta = pending.remove(blogId);  // Atomic with merge(), so no increment is lost in between
+            if (delta != null) {
+                deltas.add(Map.entry(blogId, delta));
+            }
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(ADD_TO_COMMENT_COUNT, deltas, deltas.size(), (ps, entry) -> {
+                        ps.setLong(1, entry.getValue());
+                        ps.setTimestamp(2, now, Calendar.getInstance(UTC));
+                        ps.setLong(3, entry.getKey());
+                    }));
+            flushes.incrementAndGet();
+        } catch (DataAccessException ex) {
+            deltas.forEach(entry -> add(entry.getKey(), entry.getValue()));
+            log.warn("Writing comment counts of {} blogs failed, retrying: {}", deltas.size(),
+                    ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                break;
+            }
+            flush();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (isEnabled()) {
+            running = true;
+            flusher = new Thread(this::run, "comment-count-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        stopped = true;  // From here on add() writes directly, so nothing is left in the map after the flush below
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();  // Last deltas, before the DataSource closes
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops after the web server (DEFAULT_PHASE - 2048, in-flight posts still count comments) and after the
+    // write-behind queue (DEFAULT_PHASE - 4096), so it is the last writer to stop before the DataSource closes
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+}
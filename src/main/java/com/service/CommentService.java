@@ -1,27 +1,76 @@
 package com.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors; // Used to convert List of Entities to List of DTOs
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.cache.BlogCommentsCache; // Cache of whole comment threads per blog
+import com.cache.MissingIds; // Negative cache of IDs recently not found
+import com.cache.MostDiscussedBlogs; // In-memory "most discussed" ranking
+import com.config.CacheConfig; // Cache names
+import com.config.MetricsConfig; // Timer name for @Timed
+import com.config.ReadYourWrites; // Forces primary reads when a replica is configured
+import com.dto.BatchResult; // Multi-get response: items in request order + missing IDs
 import com.dto.CommentDTO; // Data Transfer Object for Comment
+import com.dto.CursorPage; // Keyset page wrapper with a next-cursor token
+import com.dto.ResourceStamp; // Version + last-change time for ETags
 import com.entity.BlogEntity; // Blog Entity class (DB Model)
 import com.entity.CommentEntity; // Comment Entity class (DB Model)
 import com.exceptions.ResourceNotFoundException; // Custom Exception if Resource Not Found
 import com.repository.BlogRepository; // Repository to access Blog Table
 import com.repository.CommentRepository; // Repository to access Comment Table
 
+import io.micrometer.core.annotation.Timed; // Per-method timers
+
 @Service // Marks this class as a Service Component in Spring
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true, percentiles = { 0.5, 0.95, 0.99 })  // Times every public method (tags: class, method)
 public class CommentService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;  // Comments per page when the client does not ask for a size
+    public static final int MAX_PAGE_SIZE = 200;     // Hard cap for page size and for the "latest N" fast path
 	
 	private final CommentRepository commentRepository;
     private final BlogRepository blogRepository;
+    private final BlogCommentsCache blogCommentsCache;
+    private final CacheManager cacheManager;
+    private final MostDiscussedBlogs mostDiscussedBlogs;
+    private final TransactionTemplate transactionTemplate;
+    private final MissingIds missingIds;
+    private final CommentStreamHub commentStreamHub;
+    private final CommentCountBuffer commentCounts;
 
     // Constructor-Based Dependency Injection
-    public CommentService(CommentRepository commentRepository, BlogRepository blogRepository) {
+    public CommentService(CommentRepository commentRepository, BlogRepository blogRepository,
+            BlogCommentsCache blogCommentsCache, CacheManager cacheManager, MostDiscussedBlogs mostDiscussedBlogs,
+            TransactionTemplate transactionTemplate, MissingIds missingIds, CommentStreamHub commentStreamHub,
+            CommentCountBuffer commentCounts) {
         this.commentRepository = commentRepository;
         this.blogRepository = blogRepository;
+        this.blogCommentsCache = blogCommentsCache;
+        this.cacheManager = cacheManager;
+        this.mostDiscussedBlogs = mostDiscussedBlogs;
+        this.transactionTemplate = transactionTemplate;
+        this.missingIds = missingIds;
+        this.commentStreamHub = commentStreamHub;
+        this.commentCounts = commentCounts;
     }
 
     /**
@@ -37,35 +86,68 @@ public class CommentService {
      * ✅ Add a comment to a specific blog.
      * @param id - The Blog ID to which the comment should be added.
      * @param commentDTO - The DTO containing comment details.
+     * The write is a single INSERT: the blog is attached as a reference proxy (never SELECTed) and the
+     * comments.blog_id foreign key rejects a missing blog, which is reported as 404. A blog known to be missing
+     * costs no query. The blog's comment_count is incremented by an UPDATE in the same transaction (which also
+     * reports a missing blog), unless app.comments.count-flush-interval opts in to CommentCountBuffer's batched flush.
+     * The saved comment is put in the comment cache under its new ID and appended to the
+     * blog's cached thread (if any), so the thread never has to be reloaded because of a write,
+     * and published to the blog's comment streams.
      * @return The saved CommentDTO with the assigned ID.
      */
+    @CachePut(cacheNames = CacheConfig.COMMENTS, key = "#result.id")
 	public CommentDTO postComment(Long id, CommentDTO commentDTO) {
-        // Fetch the blog by ID or throw an exception if not found
-        BlogEntity blog = blogRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("No Blog Available with Id : " + commentDTO.getBlogId()));
+        if (missingIds.isMissing(MissingIds.Kind.BLOG, id)) {
+            throw new ResourceNotFoundException("No Blog Available with Id : " + id);
+        }
+        CommentEntity savedComment;
+        try {
+            savedComment = transactionTemplate.execute(status -> {
+                // Counted in this transaction unless buffering is opted in; 0 rows updated means the blog does not exist (rolls back)
+                if (!commentCounts.isEnabled() && blogRepository.addToCommentCount(id, 1, Instant.now()) == 0) {
+                    throw new ResourceNotFoundException("No Blog Available with Id : " + id);
+                }
 
-        // Convert DTO to Entity
-        CommentEntity comment = new CommentEntity();
-        comment.setComment(commentDTO.getComment());
-        comment.setBlog(blog);
+                // Convert DTO to Entity; the blog is only referenced by its ID (foreign key)
+                CommentEntity comment = new CommentEntity();
+                comment.setComment(commentDTO.getComment());
+                comment.setBlog(blogRepository.getReferenceById(id));
 
-        // Save the comment entity in the database
-        CommentEntity savedComment = commentRepository.save(comment);
+                // Insert now, so a foreign key violation surfaces here rather than at commit
+                return commentRepository.saveAndFlush(comment);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // The only constraint a validated comment can break is the blog foreign key
+            throw new ResourceNotFoundException("No Blog Available with Id : " + id);
+        }
+        if (commentCounts.isEnabled()) {
+            commentCounts.add(id, 1);
+        }
 
         // Set the generated ID back to DTO
         commentDTO.setId(savedComment.getId());
+        commentDTO.setBlogId(id);
+        commentDTO.setUpdatedAt(savedComment.getUpdatedAt());
+
+        // The insert is committed at this point, so the cached thread and the ranking can safely be updated
+        missingIds.created(MissingIds.Kind.COMMENT, savedComment.getId());
+        blogCommentsCache.append(commentDTO);
+        mostDiscussedBlogs.commentsAdded(id, 1);
+        commentStreamHub.publish(commentDTO);
         return commentDTO;
     }
 	
     /**
-     * ✅ Fetch a comment by its ID.
+     * ✅ Fetch a comment by its ID (served from the in-process cache when present; recent misses from MissingIds).
      * @param commentId - The ID of the comment.
      * @return The corresponding CommentDTO.
      * @throws ResourceNotFoundException if the comment does not exist.
      */
+    @Transactional(readOnly = true)  // Read-only: served by the replica when read routing is enabled
+    @Cacheable(cacheNames = CacheConfig.COMMENTS, key = "#commentId")
 	public CommentDTO getCommentById(Long commentId) {
         // Fetch comment from DB or throw an error if not found
-        CommentEntity comment = commentRepository.findById(commentId)
+        CommentEntity comment = missingIds.find(MissingIds.Kind.COMMENT, commentId, commentRepository::findById)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with the blog id " + commentId));
 
         // Convert Entity to DTO
@@ -74,34 +156,218 @@ public class CommentService {
 
     /**
      * ✅ Fetch all comments for a given blog.
+     * Served from the cached thread when possible; threads too large to cache are read from the database.
      * @param blogId - The Blog ID.
      * @return List of CommentDTO objects.
      * @throws ResourceNotFoundException if the blog does not exist.
      */
+    @Transactional(readOnly = true)
 	public List<CommentDTO> getCommentsByBlogId(Long blogId) {
-        // Check if blog exists in the database
-        if (!blogRepository.existsById(blogId)) {
+        List<CommentDTO> thread = cachedThread(blogId);
+        if (thread != null) {
+            return thread;
+        }
+        // One query: the blog left-joined to its comments (see CommentRepository.findCommentRowsByBlogId)
+        return withoutEmptyMarker(blogId, commentRepository.findCommentRowsByBlogId(blogId));
+    }
+
+    /**
+     * ✅ Fetch one page of comments for a blog using keyset pagination on the comment ID.
+     * @param blogId - The Blog ID.
+     * @param cursor - Cursor token from the previous page, or null for the first page.
+     * @param size - Requested page size (clamped to 1..MAX_PAGE_SIZE).
+     * @return The page of CommentDTOs and the cursor for the next page.
+     * @throws ResourceNotFoundException if the blog does not exist.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDTO> getCommentsByBlogId(Long blogId, String cursor, int size) {
+        long afterId = CursorPage.decodeCursor(cursor);
+        int pageSize = clampPageSize(size);
+
+        // Hot threads: slice the page out of the cached thread without any query
+        List<CommentDTO> thread = cachedThread(blogId);
+        if (thread != null) {
+            int from = BlogCommentsCache.firstAfter(thread, afterId);
+            int to = Math.min(from + pageSize, thread.size());
+            List<CommentDTO> comments = thread.subList(from, to);
+            String nextCursor = to < thread.size() ? CursorPage.encodeCursor(thread.get(to - 1).getId()) : null;
+            return new CursorPage<>(comments, nextCursor);
+        }
+
+        // Fetch one extra row to find out whether another page exists
+        List<CommentDTO> rows = withoutEmptyMarker(blogId,
+                commentRepository.findCommentRowsAfter(blogId, afterId, Limit.of(pageSize + 1)));
+        boolean hasMore = rows.size() > pageSize;
+
+        List<CommentDTO> comments = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? CursorPage.encodeCursor(comments.get(pageSize - 1).getId()) : null;
+        return new CursorPage<>(comments, nextCursor);
+    }
+
+    /**
+     * ✅ Fetch the newest comments of a blog (fast path for rendering the top of a hot thread).
+     * @param blogId - The Blog ID.
+     * @param count - Number of comments wanted (clamped to 1..MAX_PAGE_SIZE).
+     * @return Up to {@code count} CommentDTOs, newest first.
+     * @throws ResourceNotFoundException if the blog does not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<CommentDTO> getLatestComments(Long blogId, int count) {
+        List<CommentDTO> thread = cachedThread(blogId);
+        if (thread != null) {
+            List<CommentDTO> latest = new ArrayList<>(thread.subList(Math.max(0, thread.size() - clampPageSize(count)), thread.size()));
+            Collections.reverse(latest);
+            return latest;
+        }
+        return withoutEmptyMarker(blogId,
+                commentRepository.findLatestCommentRows(blogId, Limit.of(clampPageSize(count))));
+    }
+
+    /**
+     * ✅ Stream all comments of a blog to the given consumer with bounded memory.
+     * @param blogId - The Blog ID.
+     * @param sink - Receives each CommentDTO in ascending ID order.
+     * @throws ResourceNotFoundException if the blog does not exist (checked before streaming starts).
+     */
+    @Transactional(readOnly = true)
+    public void streamCommentsByBlogId(Long blogId, Consumer<CommentDTO> sink) {
+        try (Stream<CommentDTO> comments = commentRepository.streamByBlogId(blogId)) {
+            comments.forEach(sink);
+        }
+    }
+
+    /**
+     * ✅ Fetch several comments at once (multi-get), with the same limit as blogs (BlogService.MAX_BATCH_IDS).
+     * Comments in the comment cache are taken from it; the rest are read with one IN query (skipping IDs
+     * recently found missing) and added to the cache. Missing IDs are reported, not thrown.
+     * @param commentIds - The IDs of the comments.
+     * @return The comments found in request order, and the IDs that do not exist.
+     * @throws com.exceptions.BadRequestException if there are too many distinct IDs.
+     */
+    @Transactional(readOnly = true)
+    public BatchResult<CommentDTO> getCommentsByIds(List<Long> commentIds) {
+        Set<Long> distinct = BlogService.distinctIds(commentIds);
+        Cache cache = cacheManager.getCache(CacheConfig.COMMENTS);
+        Map<Long, CommentDTO> found = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : distinct) {
+            CommentDTO cached = cache.get(id, CommentDTO.class);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            missingIds.findAll(MissingIds.Kind.COMMENT, uncached, batch -> commentRepository.findRowsByIdIn(batch).stream()
+                    .collect(Collectors.toMap(CommentDTO::getId, Function.identity())))
+                    .forEach((id, comment) -> {
+                        cache.putIfAbsent(id, comment);
+                        found.put(id, comment);
+                    });
+        }
+        return BatchResult.of(distinct, found);
+    }
+
+    /**
+     * ✅ Get the revision stamp of a comment for a conditional GET (cache first, then an ID lookup).
+     * @param commentId - The ID of the comment.
+     * @return The comment ID as version, and the time it was written.
+     * @throws ResourceNotFoundException if the comment does not exist.
+     */
+    @Transactional(readOnly = true)
+    public ResourceStamp getCommentStamp(Long commentId) {
+        CommentDTO cached = cacheManager.getCache(CacheConfig.COMMENTS).get(commentId, CommentDTO.class);
+        if (cached != null) {
+            return new ResourceStamp(cached.getId(), cached.getUpdatedAt());
+        }
+        return missingIds.find(MissingIds.Kind.COMMENT, commentId, commentRepository::findStampById)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found with the blog id " + commentId));
+    }
+
+    /**
+     * ✅ Get the revision stamp of a blog's comment thread for a conditional GET.
+     * The thread version (blogs.comments_version) is bumped by the UPDATE that counts every comment insert, in the
+     * same transaction, so it changes with every commit. The newest comment ID would not: IDs come in blocks and
+     * concurrent posts commit out of ID order, so a comment committed after a higher ID would leave it unchanged.
+     * One primary key lookup (skipped for blogs recently found missing).
+     * @param blogId - The Blog ID.
+     * @return The thread version and the time of the last comment change.
+     * @throws ResourceNotFoundException if the blog does not exist.
+     */
+    @Transactional(readOnly = true)
+    public ResourceStamp getThreadStamp(Long blogId) {
+        return missingIds.find(MissingIds.Kind.BLOG, blogId, blogRepository::findThreadStampById)
+                .orElseThrow(() -> new ResourceNotFoundException("Blog not found with ID: " + blogId));
+    }
+
+    /**
+     * ✅ Check that a blog exists before a streamed response commits its status code.
+     * @param blogId - The Blog ID.
+     * @throws ResourceNotFoundException if the blog does not exist.
+     */
+    public void requireBlog(Long blogId) {
+        if (!blogCommentsCache.contains(blogId) && !missingIds.exists(MissingIds.Kind.BLOG, blogId, blogRepository::existsById)) {
             throw new ResourceNotFoundException("Blog not found with ID: " + blogId);
         }
+    }
+
+    /**
+     * ✅ Get the whole thread of a blog from the thread cache, loading it on a miss once the thread is hot.
+     * A cold read gets null and queries only the page it needs (keyset on the comment ID).
+     * Loaded from the primary even when reads go to a replica: a cached thread is kept current by appends only,
+     * so a thread loaded from a lagging replica would miss a just-posted comment for as long as it stays cached.
+     * @return The cached thread, or null if it is not hot yet or too large to cache.
+     * @throws ResourceNotFoundException if the blog does not exist.
+     */
+    private List<CommentDTO> cachedThread(Long blogId) {
+        rejectMissingBlog(blogId);
+        return blogCommentsCache.get(blogId, (id, maxRows) -> ReadYourWrites.fromPrimary(() ->
+                withoutEmptyMarker(id, commentRepository.findCommentRowsAfter(id, 0L, Limit.of(maxRows)))));
+    }
+
+    /**
+     * ✅ Fail fast, without a query, for a blog that was recently looked up and not found.
+     * @throws ResourceNotFoundException if the blog is in the negative cache.
+     */
+    private void rejectMissingBlog(Long blogId) {
+        if (missingIds.isMissing(MissingIds.Kind.BLOG, blogId)) {
+            throw new ResourceNotFoundException("Blog not found with ID: " + blogId);
+        }
+    }
+
+    /**
+     * ✅ Interpret the rows of a blog-left-join-comments query.
+     * No rows means the blog does not exist; a single row with a null ID means it has no (more) comments.
+     */
+    private List<CommentDTO> withoutEmptyMarker(Long blogId, List<CommentDTO> rows) {
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Blog not found with ID: " + blogId);
+        }
+        if (rows.get(0).getId() == null) {
+            return new ArrayList<>();
+        }
+        return rows;
+    }
 
-        // Fetch all comments for the blog and map them to DTO format
-        return commentRepository.findByBlogId(blogId)
-                .stream()
-                .map(comment -> mapToDTO(comment)) // Convert each entity to DTO
-                .collect(Collectors.toList()); // Collect results as a List
+    // Keeps the page size within 1..MAX_PAGE_SIZE
+    static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 	
     /**
      * ✅ Convert CommentEntity to CommentDTO.
+     * Package-private so the JMH benchmarks (src/jmh/java, benchmark profile) can measure it.
      * @param comment - The CommentEntity object.
      * @return Converted CommentDTO object.
      */
-	private CommentDTO mapToDTO(CommentEntity comment) {
+	CommentDTO mapToDTO(CommentEntity comment) {
         CommentDTO dto = new CommentDTO();
         
         dto.setId(comment.getId());
         dto.setComment(comment.getComment());
-        dto.setBlogId(comment.getBlog().getId()); // Fetch blog ID from Blog entity
+        dto.setBlogId(comment.getBlog().getId()); // Reads the foreign key from the lazy proxy, no extra query
+        dto.setUpdatedAt(comment.getUpdatedAt());
         return dto;
     }
 }
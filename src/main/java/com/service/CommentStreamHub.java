@@ -0,0 +1,259 @@
+package com.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dto.CommentDTO;
+import com.dto.CursorPage;
+import com.exceptions.ServiceUnavailableException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process fan-out of new comments to server-sent event subscribers, one topic per blog.
+ *
+ * - Publishing (after a comment is committed) only offers the comment to each subscriber's bounded buffer,
+ *   so a post never waits for a client. Each subscriber is written to by at most one virtual thread at a time.
+ * - A subscriber whose buffer is full is too slow to keep up: its stream is closed, and the client
+ *   resumes from its last event ID when it reconnects.
+ * - Resuming: comments after the given ID are replayed (read through CommentService, so usually from the
+ *   thread cache) before live comments; live comments up to the highest replayed ID are skipped, since the
+ *   replay already sent them (only that ID is kept, not a set of replayed IDs). If more than
+ *   max-replay comments were missed, a "reset" event tells the client to reload the thread instead.
+ * - Every event ID is the comment ID. A comment line (keepalive) is sent periodically, so dead connections are noticed.
+ * Comments are fanned out by the instance that saved them; with several instances, subscribers only see the
+ * comments posted through their own instance.
+ */
+@Service
+public class CommentStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentStreamHub.class);
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService keepalive = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "comment-stream-keepalive");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int bufferSize;
+    private final int maxReplay;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    public CommentStreamHub(@Value("${app.comments.stream.buffer-size:256}") int bufferSize,
+            @Value("${app.comments.stream.max-replay:1000}") int maxReplay,
+            @Value("${app.comments.stream.max-subscribers:10000}") int maxSubscribers,
+            @Value("${app.comments.stream.timeout:30m}") Duration timeout,
+            @Value("${app.comments.stream.keepalive-interval:20s}") Duration keepaliveInterval) {
+        this.bufferSize = bufferSize;
+        this.maxReplay = maxReplay;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        long interval = keepaliveInterval.toMillis();
+        keepalive.scheduleAtFixedRate(this::keepaliveAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream of new comments on a blog.
+     * @param blogId - The blog to follow (must exist; checked by the caller)
+     * @param lastSeenId - ID of the last comment the client has, or null to start with the next new comment
+     * @param pages - Reads the page of comments after a given comment ID (for the replay)
+     * @return The emitter to return from the controller
+     * @throws ServiceUnavailableException if the maximum number of subscribers is reached
+     */
+    public SseEmitter subscribe(Long blogId, Long lastSeenId, LongFunction<CursorPage<CommentDTO>> pages) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open comment streams, please retry");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(blogId, emitter, bufferSize, lastSeenId);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+        // Registered before the replay is read, so nothing committed in between is missed
+        topics.computeIfAbsent(blogId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        if (lastSeenId != null) {
+            senders.execute(() -> replay(subscriber, lastSeenId, pages));
+        }
+        return emitter;
+    }
+
+    /**
+     * Offers a committed comment to every subscriber of its blog. Never blocks.
+     */
+    public void publish(CommentDTO comment) {
+        Set<Subscriber> subscribers = topics.get(comment.getBlogId());
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.buffer.offer(comment)) {
+                subscriber.evicted = true;  // Slow consumer: closed by its sender, the client resumes on reconnect
+            }
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Ends every stream of a deleted blog.
+     */
+    public void blogDeleted(Long blogId) {
+        Set<Subscriber> subscribers = topics.remove(blogId);
+        if (subscribers != null) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.evicted = true;
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // Number of open streams
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Sends what was missed since lastSeenId, then lets live comments through
+    private void replay(Subscriber subscriber, long lastSeenId, LongFunction<CursorPage<CommentDTO>> pages) {
+        try {
+            long after = lastSeenId;
+            int sent = 0;
+            while (true) {
+                CursorPage<CommentDTO> page = pages.apply(after);
+                for (CommentDTO comment : page.getItems()) {
+                    send(subscriber, comment);
+                    after = comment.getId();
+                    subscriber.lastReplayedId = after;
+                }
+                sent += page.getItems().size();
+                if (page.getNextCursor() == null) {
+                    break;
+                }
+                if (sent >= maxReplay) {
+                    subscriber.emitter.send(SseEmitter.event().name("reset")
+                            .data("More than " + maxReplay + " comments were missed, reload the thread"));
+                    subscriber.emitter.complete();
+                    return;
+                }
+            }
+            subscriber.replaying = false;
+            schedule(subscriber);
+        } catch (IOException | IllegalStateException ex) {
+            remove(subscriber);  // Client went away during the replay
+        } catch (RuntimeException ex) {
+            log.warn("Replay of blog {} comments failed: {}", subscriber.blogId, ex.getMessage());
+            subscriber.emitter.completeWithError(ex);
+        }
+    }
+
+    // Starts a sender for the subscriber unless one is running (or the replay is still going)
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.replaying && subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    // Writes everything buffered for one subscriber; runs on one virtual thread per subscriber at a time
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                if (subscriber.evicted) {
+                    subscriber.emitter.complete();
+                    return;
+                }
+                if (subscriber.keepaliveDue) {
+                    subscriber.keepaliveDue = false;
+                    subscriber.emitter.send(SseEmitter.event().comment("keepalive"));
+                }
+                CommentDTO comment = subscriber.buffer.poll();
+                if (comment == null) {
+                    break;
+                }
+                if (comment.getId() > subscriber.lastReplayedId) {
+                    send(subscriber, comment);
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            remove(subscriber);  // Client went away, or the emitter already completed
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        // A comment offered after the last poll would otherwise wait for the next publish
+        if (!subscriber.buffer.isEmpty() || subscriber.keepaliveDue) {
+            schedule(subscriber);
+        }
+    }
+
+    private static void send(Subscriber subscriber, CommentDTO comment) throws IOException {
+        subscriber.emitter.send(SseEmitter.event().id(String.valueOf(comment.getId())).name("comment").data(comment));
+    }
+
+    private void keepaliveAll() {
+        for (Set<Subscriber> subscribers : topics.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.keepaliveDue = true;
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.removed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            topics.computeIfPresent(subscriber.blogId, (id, subscribers) -> {
+                subscribers.remove(subscriber);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        keepalive.shutdownNow();
+        for (Set<Subscriber> subscribers : topics.values()) {
+            subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        }
+        senders.shutdownNow();
+    }
+
+    // One open stream: its emitter and the comments waiting to be written to it
+    private static final class Subscriber {
+        final Long blogId;
+        final SseEmitter emitter;
+        final BlockingQueue<CommentDTO> buffer;
+        final AtomicBoolean sending = new AtomicBoolean();
+        final AtomicBoolean removed = new AtomicBoolean();
+        long lastReplayedId;  // Live comments up to this ID were already sent; written before replaying turns false
+        volatile boolean replaying;
+        volatile boolean evicted;
+        volatile boolean keepaliveDue;
+
+        Subscriber(Long blogId, SseEmitter emitter, int bufferSize, Long lastSeenId) {
+            this.blogId = blogId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+            this.lastReplayedId = lastSeenId != null ? lastSeenId : Long.MIN_VALUE;
+            this.replaying = lastSeenId != null;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.cache.BlogCommentsCache;
+import com.cache.MissingIds;
+import com.cache.MostDiscussedBlogs;
+import com.config.CacheConfig;
+import com.dto.CommentDTO;
+import com.exceptions.ResourceNotFoundException;
+import com.exceptions.ServiceUnavailableException;
+import com.exceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.repository.BlogRepository;
+
+/**
+ * Optional write-behind mode for posting comments (app.comments.write-behind.enabled).
+ *
+ * A posted comment gets its ID right away (from a block reserved in id_blocks, the same row Hibernate
+ * allocates comment IDs from; the next block is reserved ahead of time) and is put on a bounded queue; the
+ * request returns 202 without waiting for the database. A single writer thread drains whatever has queued up
+ * and writes it in one transaction: one multi-row INSERT (JDBC batch + rewriteBatchedStatements) plus one
+ * comment_count UPDATE per blog.
+ * Under load, batches grow on their own (group commit), so the cost per comment falls as traffic rises.
+ *
+ * - Queue full: the post is rejected with 429.
+ * - Database unavailable: the writer retries the batch until it succeeds.
+ * - Blog deleted meanwhile (foreign key violation): the batch is retried row by row and the orphans are dropped.
+ * - Shutdown: new posts get 503, and the queue is drained before the DataSource closes (after the web server stops).
+ * Comments become readable (caches, GET endpoints) once committed.
+ */
+@Service
+public class CommentWriteBehindQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentWriteBehindQueue.class);
+    private static final String INSERT_COMMENT =
+            "insert into comments (comment_id, blog, comment, updated_at) values (?, ?, ?, ?)";
+    private static final String ADD_TO_COMMENT_COUNT = "update blogs set comment_count = comment_count + ?, "
+            + "comments_version = comments_version + 1, comments_updated_at = ? where blog_id = ?";  // Also bumps the thread version
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));  // Hibernate stores Instants as UTC
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<CommentDTO> queue;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlogRepository blogRepository;
+    private final BlogCommentsCache blogCommentsCache;
+    private final MostDiscussedBlogs mostDiscussedBlogs;
+    private final CacheManager cacheManager;
+    private final MissingIds missingIds;
+    private final CommentStreamHub commentStreamHub;
+
+    // Blogs recently seen to exist, so accepting a comment normally needs no query
+    private final com.github.benmanes.caffeine.cache.Cache<Long, Boolean> knownBlogs = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    // Reserved but unused comment IDs: nextId..lastId, then the prefetched block spareNext..spareLast (guarded by this)
+    private long nextId = 1;
+    private long lastId = 0;
+    private long spareNext = 1;
+    private long spareLast = 0;
+    private final ReentrantLock reserving = new ReentrantLock();  // One id_blocks reservation at a time, outside the monitor
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread writer;
+
+    public CommentWriteBehindQueue(@Value("${app.comments.write-behind.enabled:false}") boolean enabled,
+            @Value("${app.comments.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.comments.write-behind.batch-size:500}") int batchSize,
+            @Value("${app.comments.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout,
+            JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, BlogRepository blogRepository,
+            BlogCommentsCache blogCommentsCache, MostDiscussedBlogs mostDiscussedBlogs, CacheManager cacheManager,
+            MissingIds missingIds, CommentStreamHub commentStreamHub) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.blogRepository = blogRepository;
+        this.blogCommentsCache = blogCommentsCache;
+        this.mostDiscussedBlogs = mostDiscussedBlogs;
+        this.cacheManager = cacheManager;
+        this.missingIds = missingIds;
+        this.commentStreamHub = commentStreamHub;
+    }
+
+    // Whether comments are posted through the queue
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accepts a comment for asynchronous writing.
+     * @param blogId - Blog the comment belongs to
+     * @param commentDTO - The validated comment; its ID, blog ID and timestamp are filled in
+     * @return The accepted comment with its final ID
+     * @throws ResourceNotFoundException if the blog does not exist
+     * @throws TooManyRequestsException if the queue is full
+     * @throws ServiceUnavailableException if the application is shutting down
+     */
+    public CommentDTO enqueue(Long blogId, CommentDTO commentDTO) {
+        if (!accepting) {
+            throw new ServiceUnavailableException("Comments cannot be accepted right now, please retry");
+        }
+        if (knownBlogs.getIfPresent(blogId) == null) {
+            if (!missingIds.exists(MissingIds.Kind.BLOG, blogId, blogRepository::existsById)) {
+                throw new ResourceNotFoundException("No Blog Available with Id : " + blogId);
+            }
+            knownBlogs.put(blogId, Boolean.TRUE);
+        }
+        commentDTO.setBlogId(blogId);
+        commentDTO.setUpdatedAt(Instant.now());
+        // ID assignment and enqueueing happen together, so the queue is in ID order.
+        // Blocks are reserved outside the monitor, so a slow id_blocks transaction never holds up other posts.
+        boolean prefetch;
+        while (true) {
+            synchronized (this) {
+                if (queue.remainingCapacity() == 0) {
+                    throw new TooManyRequestsException("Too many comments are waiting to be saved, please retry");
+                }
+                if (nextId > lastId && spareNext <= spareLast) {
+                    nextId = spareNext;
+                    lastId = spareLast;
+                    spareNext = 1;
+                    spareLast = 0;
+                }
+                if (nextId <= lastId) {
+                    commentDTO.setId(nextId++);
+                    queue.add(commentDTO);
+                    prefetch = spareNext > spareLast && lastId - nextId < batchSize / 2;
+                    break;
+                }
+            }
+            reserveBlock(true);  // No IDs left at all (first post, or bursts faster than prefetching)
+        }
+        if (prefetch) {
+            reserveBlock(false);
+        }
+        return commentDTO;
+    }
+
+    // Called when a blog is deleted, so new comments for it are rejected again
+    public void forgetBlog(Long blogId) {
+        knownBlogs.invalidate(blogId);
+    }
+
+    /**
+     * Reserves the next block of batchSize comment IDs as the spare block, once the current one is half used.
+     * Same semantics as Hibernate's pooled-lo generator on id_blocks: next_val holds the last used ID.
+     * Runs outside the monitor; reservations are serialized by their own lock, so blocks arrive in ID order.
+     * @param wait - true when the caller has no ID and must wait for a block; false to prefetch only if no other
+     *               caller is reserving already
+     */
+    private void reserveBlock(boolean wait) {
+        if (wait) {
+            reserving.lock();
+        } else if (!reserving.tryLock()) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                if (spareNext <= spareLast || (wait && nextId <= lastId)) {
+                    return;  // Another caller reserved a block meanwhile
+                }
+            }
+            long last = transactionTemplate.execute(status -> {
+                Long stored = jdbcTemplate.queryForObject(
+                        "select next_val from id_blocks where sequence_name = 'comments' for update", Long.class);
+                jdbcTemplate.update("update id_blocks set next_val = ? where sequence_name = 'comments'",
+                        stored + batchSize);
+                return stored;
+            });
+            synchronized (this) {
+                spareNext = last + 1;
+                spareLast = last + batchSize;
+            }
+        } finally {
+            reserving.unlock();
+        }
+    }
+
+    // Writer loop: waits for the first comment, then takes everything queued behind it (up to batchSize)
+    private void drain() {
+        List<CommentDTO> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            batch.clear();
+            try {
+                CommentDTO first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                save(batch);
+            } catch (RuntimeException ex) {
+                log.error("Dropped {} queued comments after an unexpected error", batch.size(), ex);
+            } catch (InterruptedException e) {
+                // stop() gave up waiting; whatever is left in the queue is lost
+                log.warn("Comment writer interrupted, {} queued comments not saved", queue.size() + batch.size());
+                return;
+            }
+        }
+    }
+
+    // Writes a batch; on a constraint violation (blog deleted meanwhile) retries row by row and drops the orphans
+    private void save(List<CommentDTO> batch) throws InterruptedException {
+        try {
+            writeWithRetry(batch);
+        } catch (DataIntegrityViolationException ex) {
+            if (batch.size() == 1) {
+                CommentDTO comment = batch.get(0);
+                log.warn("Dropped queued comment {} of blog {}: {}", comment.getId(), comment.getBlogId(),
+                        ex.getMostSpecificCause().getMessage());
+                return;
+            }
+            for (CommentDTO comment : batch) {
+                save(List.of(comment));
+            }
+        }
+    }
+
+    // Retries until the database takes the batch; constraint violations are not retried
+    private void writeWithRetry(List<CommentDTO> batch) throws InterruptedException {
+        while (true) {
+            try {
+                writeBatch(batch);
+                published(batch);
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                throw ex;
+            } catch (DataAccessException ex) {
+                log.warn("Writing {} queued comments failed, retrying: {}", batch.size(), ex.getMostSpecificCause().getMessage());
+                TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    // One transaction: multi-row insert of the comments, then one count update per blog
+    private void writeBatch(List<CommentDTO> batch) {
+        Map<Long, Integer> perBlog = new HashMap<>();
+        for (CommentDTO comment : batch) {
+            perBlog.merge(comment.getBlogId(), 1, Integer::sum);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_COMMENT, batch, batch.size(), (ps, comment) -> {
+                ps.setLong(1, comment.getId());
+                ps.setLong(2, comment.getBlogId());
+                ps.setString(3, comment.getComment());
+                ps.setTimestamp(4, Timestamp.from(comment.getUpdatedAt()), UTC);
+            });
+            Timestamp now = Timestamp.from(Instant.now());
+            jdbcTemplate.batchUpdate(ADD_TO_COMMENT_COUNT, new ArrayList<>(perBlog.entrySet()), perBlog.size(),
+                    (ps, entry) -> {
+                        ps.setLong(1, entry.getValue());
+                        ps.setTimestamp(2, now, UTC);
+                        ps.setLong(3, entry.getKey());
+                    });
+        });
+    }
+
+    // After commit: make the comments visible to readers, as postComment does
+    private void published(List<CommentDTO> batch) {
+        Cache comments = cacheManager.getCache(CacheConfig.COMMENTS);
+        Map<Long, Integer> perBlog = new HashMap<>();
+        for (CommentDTO comment : batch) {
+            missingIds.created(MissingIds.Kind.COMMENT, comment.getId());
+            blogCommentsCache.append(comment);
+            if (comments != null) {
+                comments.put(comment.getId(), comment);
+            }
+            commentStreamHub.publish(comment);
+            perBlog.merge(comment.getBlogId(), 1, Integer::sum);
+        }
+        perBlog.forEach(mostDiscussedBlogs::commentsAdded);
+    }
+
+    @Override
+    public void start() {
+        accepting = true;
+        if (enabled) {
+            running = true;
+            writer = new Thread(this::drain, "comment-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        accepting = false;
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(shutdownTimeout.toMillis());
+            if (writer.isAlive()) {
+                writer.interrupt();
+                writer.join(1000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Comment write queue stopped, {} comments left unsaved", queue.size());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return accepting;
+    }
+
+    // Lower than the web server's phases: started before it accepts requests, stopped (drained) after it has stopped
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,30 @@
+-- Schema as Hibernate's ddl-auto created it (MySQL 8, InnoDB).
+-- Databases that ddl-auto already created are baselined at this version (spring.flyway.baseline-on-migrate),
+-- so this script only runs on an empty database.
+
+create table if not exists blogs (
+    blog_id bigint not null,
+    comment_count bigint,
+    content varchar(255) not null,
+    title varchar(255) not null,
+    updated_at datetime(6),
+    version bigint not null,
+    primary key (blog_id),
+    index idx_blogs_comment_count (comment_count desc, blog_id)
+) engine=InnoDB;
+
+create table if not exists comments (
+    comment_id bigint not null,
+    comment varchar(255) not null,
+    updated_at datetime(6),
+    blog bigint not null,
+    primary key (comment_id),
+    index idx_comments_blog_comment (blog, comment_id),
+    constraint fk_comments_blog foreign key (blog) references blogs (blog_id) on delete cascade
+) engine=InnoDB;
+
+create table if not exists id_blocks (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+) engine=InnoDB;
@@ -0,0 +1,15 @@
+-- One-off data fixes that com.config.IdBlockSeeder and com.config.CommentCountBackfill otherwise repeat on every start.
+-- Both only move values forward, so running this while older instances still serve requests is safe.
+
+-- Blogs from before comment_count existed
+update blogs set comment_count = (select count(*) from comments c where c.blog = blogs.blog_id)
+where comment_count is null;
+
+-- ID blocks start after the largest ID already taken (rows used to get AUTO_INCREMENT IDs)
+insert into id_blocks (sequence_name, next_val)
+select * from (select 'blogs' as sequence_name, coalesce(max(blog_id), 0) as last_used from blogs) b
+on duplicate key update next_val = greatest(coalesce(id_blocks.next_val, 0), b.last_used);
+
+insert into id_blocks (sequence_name, next_val)
+select * from (select 'comments' as sequence_name, coalesce(max(comment_id), 0) as last_used from comments) c
+on duplicate key update next_val = greatest(coalesce(id_blocks.next_val, 0), c.last_used);
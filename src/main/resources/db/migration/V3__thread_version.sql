@@ -0,0 +1,9 @@
+-- Thread version of each blog (com.entity.BlogEntity.commentsVersion), bumped by the UPDATE that counts every
+-- comment insert. Thread ETags used the newest comment ID before, which does not change when comments commit
+-- out of ID order. Existing blogs start at 0 (the ETag kind changed too, so old ETags never match).
+
+alter table blogs add column comments_version bigint;
+alter table blogs add column comments_updated_at datetime(6);
+
+update blogs set comments_version = 0,
+    comments_updated_at = (select max(c.updated_at) from comments c where c.blog = blogs.blog_id);
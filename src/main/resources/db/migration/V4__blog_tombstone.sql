@@ -0,0 +1,5 @@
+-- Tombstone of a blog being purged in the background (com.entity.BlogEntity.deletedAt). Set before the comments
+-- are deleted in chunks, so the blog disappears for readers at once; the purge deletes the row at the end.
+-- Null for every existing blog.
+
+alter table blogs add column deleted_at datetime(6);
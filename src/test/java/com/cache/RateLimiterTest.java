@@ -0,0 +1,106 @@
+package com.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.cache.RateLimiter.Budget;
+
+class RateLimiterTest {
+
+    private static final String ENDPOINT = "GET /api/blogs/{id}";
+
+    // 1 read/s with a burst of 3, 1 write/s with a burst of 1: nothing refills within a test
+    private static RateLimiter limiter() {
+        return new RateLimiter(1, 3, 1, 1, Duration.ofMinutes(10), 1000);
+    }
+
+    @Test
+    void allowsTheBurstThenRejectsWithTheWaitForTheNextToken() {
+        RateLimiter limiter = limiter();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a", ENDPOINT, Budget.READ)).isZero();
+        }
+        long wait = limiter.tryAcquire("a", ENDPOINT, Budget.READ);
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void rejectedRequestsTakeNoToken() {
+        RateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a", ENDPOINT, Budget.READ);
+        }
+
+        long first = limiter.tryAcquire("a", ENDPOINT, Budget.READ);
+        long second = limiter.tryAcquire("a", ENDPOINT, Budget.READ);
+
+        // A rejection that took a token would push the next one a whole interval further out
+        assertThat(second).isLessThanOrEqualTo(first);
+    }
+
+    @Test
+    void bucketsAreSeparatePerClientAndEndpoint() {
+        RateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a", ENDPOINT, Budget.READ);
+        }
+
+        assertThat(limiter.tryAcquire("a", ENDPOINT, Budget.READ)).isPositive();
+        assertThat(limiter.tryAcquire("b", ENDPOINT, Budget.READ)).isZero();
+        assertThat(limiter.tryAcquire("a", "GET /api/blogs", Budget.READ)).isZero();
+        assertThat(limiter.size()).isEqualTo(3);
+    }
+
+    @Test
+    void writesUseTheSmallerWriteBudget() {
+        RateLimiter limiter = limiter();
+
+        assertThat(limiter.tryAcquire("a", "POST /api/blogs", Budget.WRITE)).isZero();
+        assertThat(limiter.tryAcquire("a", "POST /api/blogs", Budget.WRITE)).isPositive();
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(100, 1, 1, 1, Duration.ofMinutes(10), 1000);  // A token per 10ms
+        assertThat(limiter.tryAcquire("a", ENDPOINT, Budget.READ)).isZero();
+        long wait = limiter.tryAcquire("a", ENDPOINT, Budget.READ);
+        assertThat(wait).isPositive();
+
+        TimeUnit.NANOSECONDS.sleep(wait + TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertThat(limiter.tryAcquire("a", ENDPOINT, Budget.READ)).isZero();
+    }
+
+    @Test
+    void concurrentCallersShareOneBurstExactly() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(0.001, 100, 1, 1, Duration.ofMinutes(10), 1000);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        if (limiter.tryAcquire("a", ENDPOINT, Budget.READ) == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(allowed).hasValue(100);
+    }
+}
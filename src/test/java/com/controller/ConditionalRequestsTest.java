@@ -0,0 +1,115 @@
+package com.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.dto.ResourceStamp;
+import com.exceptions.ConflictException;
+
+class ConditionalRequestsTest {
+
+    private static final Instant UPDATED = Instant.parse("2024-05-01T10:15:30Z");
+    private static final ResourceStamp STAMP = new ResourceStamp(3L, UPDATED);
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/blogs/7");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final ServletWebRequest webRequest = new ServletWebRequest(request, response);
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    @Test
+    void etagNamesKindIdAndVersion() {
+        assertThat(ConditionalRequests.etag("blog", 7L, STAMP)).isEqualTo("\"blog-7-3\"");
+        assertThat(ConditionalRequests.lastModified(STAMP)).isEqualTo(UPDATED.toEpochMilli());
+        assertThat(ConditionalRequests.lastModified(new ResourceStamp(3L, null))).isEqualTo(-1);
+    }
+
+    @Test
+    void onlyRequestsWithValidatorsAreConditional() {
+        assertThat(ConditionalRequests.isConditional(webRequest)).isFalse();
+
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"blog-7-3\"");
+
+        assertThat(ConditionalRequests.isConditional(webRequest)).isTrue();
+    }
+
+    @Test
+    void notModifiedWhenTheEtagMatches() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"blog-7-3\"");
+
+        assertThat(ConditionalRequests.notModified(webRequest, "blog", 7L, STAMP)).isTrue();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"blog-7-3\"");
+    }
+
+    @Test
+    void modifiedWhenTheVersionChanged() {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"blog-7-2\"");
+
+        assertThat(ConditionalRequests.notModified(webRequest, "blog", 7L, STAMP)).isFalse();
+    }
+
+    @Test
+    void notModifiedSinceTheLastChange() {
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, httpDate(UPDATED.plus(1, ChronoUnit.MINUTES)));
+
+        assertThat(ConditionalRequests.notModified(webRequest, "blog", 7L, STAMP)).isTrue();
+    }
+
+    @Test
+    void modifiedAfterTheGivenDate() {
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, httpDate(UPDATED.minus(1, ChronoUnit.MINUTES)));
+
+        assertThat(ConditionalRequests.notModified(webRequest, "blog", 7L, STAMP)).isFalse();
+    }
+
+    @Test
+    void rangeAppliesOnlyToTheCurrentRevision() {
+        assertThat(ConditionalRequests.rangeApplies(webRequest, "blog", 7L, STAMP)).isTrue();
+
+        request.addHeader(HttpHeaders.IF_RANGE, "\"blog-7-2\"");
+        assertThat(ConditionalRequests.rangeApplies(webRequest, "blog", 7L, STAMP)).isFalse();
+    }
+
+    @Test
+    void rangeAppliesWithTheCurrentEtag() {
+        request.addHeader(HttpHeaders.IF_RANGE, " \"blog-7-3\" ");
+
+        assertThat(ConditionalRequests.rangeApplies(webRequest, "blog", 7L, STAMP)).isTrue();
+    }
+
+    @Test
+    void readsTheExpectedVersionFromIfMatch() {
+        assertThat(ConditionalRequests.expectedVersion("\"blog-7-3\"", "blog", 7L)).isEqualTo(3L);
+        assertThat(ConditionalRequests.expectedVersion("W/\"blog-7-3\"", "blog", 7L)).isEqualTo(3L);
+    }
+
+    @Test
+    void anyVersionWithoutIfMatchOrWithStar() {
+        assertThat(ConditionalRequests.expectedVersion(null, "blog", 7L)).isNull();
+        assertThat(ConditionalRequests.expectedVersion(" ", "blog", 7L)).isNull();
+        assertThat(ConditionalRequests.expectedVersion("*", "blog", 7L)).isNull();
+    }
+
+    @Test
+    void rejectsIfMatchOfAnotherResourceOrMalformed() {
+        for (String ifMatch : new String[] {"\"blog-8-3\"", "\"comment-7-3\"", "\"blog-7-\"", "\"blog-7-x\"", "blog-7-3"}) {
+            assertThatThrownBy(() -> ConditionalRequests.expectedVersion(ifMatch, "blog", 7L))
+                    .isInstanceOf(ConflictException.class);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.exceptions.BadRequestException;
+
+class CursorPageTest {
+
+    @Test
+    void decodesWhatItEncodes() {
+        for (long id : new long[] {1, 42, 1_000_000_007L, Long.MAX_VALUE}) {
+            assertThat(CursorPage.decodeCursor(CursorPage.encodeCursor(id))).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String cursor = CursorPage.encodeCursor(Long.MAX_VALUE);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void startsFromTheBeginningWithoutCursor() {
+        assertThat(CursorPage.decodeCursor(null)).isZero();
+        assertThat(CursorPage.decodeCursor("")).isZero();
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String notANumber = Base64.getUrlEncoder().encodeToString("abc".getBytes(StandardCharsets.US_ASCII));
+
+        assertThatThrownBy(() -> CursorPage.decodeCursor("not base64!")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> CursorPage.decodeCursor(notANumber)).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,129 @@
+package com.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dto.SearchHit;
+import com.dto.SearchPage;
+import com.exceptions.ServiceUnavailableException;
+
+class BlogSearchIndexTest {
+
+    private BlogSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BlogSearchIndex();
+        index.finishLoading();
+    }
+
+    private List<Long> ids(SearchPage page) {
+        return page.hits().stream().map(SearchHit::id).toList();
+    }
+
+    @Test
+    void rejectsSearchesUntilLoaded() {
+        BlogSearchIndex loading = new BlogSearchIndex();
+
+        assertThatThrownBy(() -> loading.search("spring", false, 0, 10))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void ranksTitleMatchesAboveBodyMatches() {
+        index.index(1, "Cooking pasta", "A post that mentions spring once.");
+        index.index(2, "Spring in practice", "Dependency injection and more.");
+
+        SearchPage page = index.search("spring", false, 0, 10);
+
+        assertThat(page.total()).isEqualTo(2);
+        assertThat(ids(page)).containsExactly(2L, 1L);
+        assertThat(page.hits().get(0).title()).isEqualTo("Spring in practice");
+    }
+
+    @Test
+    void ranksBlogsMatchingMoreWordsHigher() {
+        index.index(1, "Java", "Streams explained.");
+        index.index(2, "Java", "Virtual threads explained.");
+        index.index(3, "Kotlin", "Threads and coroutines.");
+
+        assertThat(ids(index.search("java threads", false, 0, 10))).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void matchesTheLastWordAsPrefixOnlyWhenAsked() {
+        index.index(1, "Spring Boot", "Auto configuration.");
+
+        assertThat(index.search("sprin", false, 0, 10).hits()).isEmpty();
+        assertThat(ids(index.search("sprin", true, 0, 10))).containsExactly(1L);
+        assertThat(index.search("sprin boot", true, 0, 10).hits()).hasSize(1);  // Only the last word is a prefix
+    }
+
+    @Test
+    void ignoresCaseAndStopWords() {
+        index.index(1, "The JVM", "Garbage collection.");
+
+        assertThat(ids(index.search("jvm", false, 0, 10))).containsExactly(1L);
+        assertThat(index.search("the", false, 0, 10).hits()).isEmpty();
+    }
+
+    @Test
+    void reindexingReplacesTheOldTerms() {
+        index.index(1, "Old title", "Old words.");
+
+        index.index(1, "New title", "Fresh words.");
+
+        assertThat(index.search("old", false, 0, 10).hits()).isEmpty();
+        assertThat(index.search("fresh", false, 0, 10).hits()).hasSize(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedBlogsAreNotFound() {
+        index.index(1, "Spring", "One.");
+        index.index(2, "Spring", "Two.");
+
+        index.remove(1);
+
+        assertThat(ids(index.search("spring", false, 0, 10))).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesThroughHitsInRankOrder() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(id, "Spring " + "spring ".repeat((int) id), "Body.");
+        }
+
+        SearchPage first = index.search("spring", false, 0, 2);
+        SearchPage last = index.search("spring", false, 2, 2);
+
+        assertThat(first.total()).isEqualTo(5);
+        assertThat(first.hits()).hasSize(2);
+        assertThat(last.hits()).hasSize(1);
+        assertThat(first.hits().get(0).score()).isGreaterThanOrEqualTo(first.hits().get(1).score());
+        assertThat(index.search("spring", false, 3, 2).hits()).isEmpty();
+    }
+
+    @Test
+    void initialLoadDoesNotResurrectOrOverwrite() {
+        BlogSearchIndex loading = new BlogSearchIndex();
+        loading.index(1, "Edited title", "Edited while loading.");
+        loading.remove(2);
+
+        loading.load(1, "Stale title", "Read before the edit.");
+        loading.load(2, "Deleted", "Deleted while loading.");
+        loading.load(3, "Untouched", "Loaded normally.");
+        loading.finishLoading();
+
+        assertThat(ids(loading.search("edited", false, 0, 10))).containsExactly(1L);
+        assertThat(loading.search("stale", false, 0, 10).hits()).isEmpty();
+        assertThat(loading.search("deleted", false, 0, 10).hits()).isEmpty();
+        assertThat(ids(loading.search("untouched", false, 0, 10))).containsExactly(3L);
+    }
+}
@@ -0,0 +1,61 @@
+package com.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PostingListTest {
+
+    private static long[] ids(PostingList list) {
+        long[] ids = new long[list.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = list.id(i);
+        }
+        return ids;
+    }
+
+    @Test
+    void keepsIdsSortedWhateverTheInsertionOrder() {
+        PostingList list = new PostingList("spring");
+
+        for (long id : new long[] {5, 1, 9, 3, 7, 2, 8}) {
+            list.add(id, (int) id * 10, (int) id * 100);
+        }
+
+        assertThat(ids(list)).containsExactly(1, 2, 3, 5, 7, 8, 9);
+        for (int i = 0; i < list.size(); i++) {
+            assertThat(list.frequency(i)).isEqualTo((int) list.id(i) * 10);
+            assertThat(list.length(i)).isEqualTo((int) list.id(i) * 100);
+        }
+    }
+
+    @Test
+    void removesOnlyTheGivenBlog() {
+        PostingList list = new PostingList("spring");
+        for (long id = 1; id <= 6; id++) {
+            list.add(id, (int) id, 1);
+        }
+
+        list.remove(1);
+        list.remove(4);
+        list.remove(6);
+        list.remove(42);
+
+        assertThat(ids(list)).containsExactly(2, 3, 5);
+        assertThat(list.frequency(2)).isEqualTo(5);
+    }
+
+    @Test
+    void staysUsableAfterTrim() {
+        PostingList list = new PostingList("spring");
+        list.add(1, 1, 1);
+        list.add(2, 1, 1);
+
+        list.trim();
+        list.add(3, 1, 1);
+        list.add(0, 1, 1);
+
+        assertThat(list.term()).isEqualTo("spring");
+        assertThat(ids(list)).containsExactly(0, 1, 2, 3);
+    }
+}